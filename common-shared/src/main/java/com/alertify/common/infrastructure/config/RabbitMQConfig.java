@@ -16,8 +16,10 @@
 
 package com.alertify.common.infrastructure.config;
 
+import com.alertify.common.model.Retailer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitAdmin;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -25,9 +27,14 @@ import org.springframework.amqp.support.converter.JacksonJsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.amqp.autoconfigure.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
 
 @Slf4j
 @Configuration
@@ -46,9 +53,35 @@ public class RabbitMQConfig {
     @Value("${alertify.rabbitmq.completed-routing-key:scrape.completed.key}")
     private String completedRoutingKey;
 
-    private static final String DLQ_EXCHANGE_NAME = "scrape.dlx";
+    @Value("${alertify.rabbitmq.retry.delays-ms:5000,30000,120000}")
+    private List<Long> retryDelaysMs;
+
+    @Value("${alertify.rabbitmq.listener.concurrency:#{null}}")
+    private Integer listenerConcurrency;
+    @Value("${alertify.rabbitmq.listener.max-concurrency:#{null}}")
+    private Integer listenerMaxConcurrency;
+    @Value("${alertify.rabbitmq.listener.prefetch:#{null}}")
+    private Integer listenerPrefetch;
+    @Value("${alertify.rabbitmq.listener.virtual-threads:false}")
+    private boolean listenerVirtualThreads;
+    @Value("${alertify.rabbitmq.listener.batch-size:50}")
+    private int listenerBatchSize;
+    @Value("${alertify.rabbitmq.listener.batch-receive-timeout-ms:200}")
+    private long listenerBatchReceiveTimeoutMs;
+
+    public static final String DLQ_EXCHANGE_NAME = "scrape.dlx";
     private static final String DLQ_QUEUE_NAME = "scrape.dlq";
-    private static final String DLQ_ROUTING_KEY = "scrape.dlq.key";
+    public static final String DLQ_ROUTING_KEY = "scrape.dlq.key";
+
+    public static final String RETRY_ATTEMPT_HEADER = "x-retry-attempt";
+    private static final String RETRY_EXCHANGE_PREFIX = "scrape.retry.";
+    private static final String RETRY_QUEUE_PREFIX = "scrape.retry.queue.";
+
+    public static String retryExchangeName(
+            int attempt
+    ) {
+        return RETRY_EXCHANGE_PREFIX + attempt;
+    }
 
     @Bean
     public TopicExchange exchange() {
@@ -83,6 +116,42 @@ public class RabbitMQConfig {
         return BindingBuilder.bind(requestQueue()).to(exchange()).with(requestRoutingKey);
     }
 
+    @Bean
+    public Declarables retailerRequestDeclarables() {
+
+        // one request queue per retailer so a slow shop cannot head-of-line block the others;
+        // the plain request queue stays bound for URLs that match no retailer
+        List<Declarable> declarables = new ArrayList<>();
+        for (Retailer retailer : Retailer.values()) {
+            Queue queue = QueueBuilder.durable(retailer.queueName(requestQueueName))
+                    .withArgument("x-dead-letter-exchange", DLQ_EXCHANGE_NAME)
+                    .withArgument("x-dead-letter-routing-key", DLQ_ROUTING_KEY)
+                    .build();
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange()).with(retailer.routingKey(requestRoutingKey)));
+        }
+        return new Declarables(declarables);
+    }
+
+    @Bean
+    public Declarables retryDeclarables() {
+
+        // one fanout exchange + TTL queue per delay tier; expired messages dead-letter back to the main
+        // exchange and, without an x-dead-letter-routing-key, keep the routing key they were published with
+        List<Declarable> declarables = new ArrayList<>();
+        for (int attempt = 1; attempt <= retryDelaysMs.size(); attempt++) {
+            FanoutExchange retryExchange = new FanoutExchange(retryExchangeName(attempt));
+            Queue retryQueue = QueueBuilder.durable(RETRY_QUEUE_PREFIX + attempt)
+                    .ttl(retryDelaysMs.get(attempt - 1).intValue())
+                    .deadLetterExchange(exchangeName)
+                    .build();
+            declarables.add(retryExchange);
+            declarables.add(retryQueue);
+            declarables.add(BindingBuilder.bind(retryQueue).to(retryExchange));
+        }
+        return new Declarables(declarables);
+    }
+
     @Bean
     public Queue completedQueue() {
         return QueueBuilder.durable(completedQueueName)
@@ -118,6 +187,59 @@ public class RabbitMQConfig {
         return template;
     }
 
+    @Bean
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory
+    ) {
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        applyListenerSettings(factory);
+        return factory;
+    }
+
+    @Bean
+    public SimpleRabbitListenerContainerFactory batchRabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer,
+            ConnectionFactory connectionFactory
+    ) {
+
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        applyListenerSettings(factory);
+
+        // a consumer hands over up to batch-size messages, or fewer once the receive timeout passes
+        // without a new one; the whole batch is acked together after the listener returns
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(listenerBatchSize);
+        factory.setReceiveTimeout(listenerBatchReceiveTimeoutMs);
+        if (listenerPrefetch == null || listenerPrefetch < listenerBatchSize) {
+            factory.setPrefetchCount(listenerBatchSize);
+        }
+        return factory;
+    }
+
+    private void applyListenerSettings(
+            SimpleRabbitListenerContainerFactory factory
+    ) {
+
+        // unset values keep whatever spring.rabbitmq.listener.simple.* configured
+        if (listenerConcurrency != null) {
+            factory.setConcurrentConsumers(listenerConcurrency);
+        }
+        if (listenerMaxConcurrency != null) {
+            factory.setMaxConcurrentConsumers(listenerMaxConcurrency);
+        }
+        if (listenerPrefetch != null) {
+            factory.setPrefetchCount(listenerPrefetch);
+        }
+        if (listenerVirtualThreads) {
+            factory.setTaskExecutor(new VirtualThreadTaskExecutor("rabbit-listener-"));
+        }
+    }
+
     @Bean
     public ApplicationRunner initRabbitMQ(RabbitAdmin admin) {
         return args -> {
@@ -133,10 +255,29 @@ public class RabbitMQConfig {
                 admin.declareQueue(completedQueue());
                 admin.declareBinding(completedBinding());
 
-                log.info("RabbitMQ: Request, Completed and DLQ lines are configured successfully!");
+                declare(admin, retailerRequestDeclarables());
+                declare(admin, retryDeclarables());
+
+                log.info("RabbitMQ: Request, Completed, Retry and DLQ lines are configured successfully!");
             } catch (Exception e) {
                 log.error("RabbitMQ Init Error: Failed to configure queues.", e);
             }
         };
     }
-}
\ No newline at end of file
+
+    private void declare(
+            RabbitAdmin admin,
+            Declarables declarables
+    ) {
+
+        for (Declarable declarable : declarables.getDeclarables()) {
+            if (declarable instanceof Exchange exchange) {
+                admin.declareExchange(exchange);
+            } else if (declarable instanceof Queue queue) {
+                admin.declareQueue(queue);
+            } else if (declarable instanceof Binding binding) {
+                admin.declareBinding(binding);
+            }
+        }
+    }
+}
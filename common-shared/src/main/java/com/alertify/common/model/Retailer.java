@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.common.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URI;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Optional;
+
+@Getter
+@RequiredArgsConstructor
+public enum Retailer {
+
+    TRENDYOL("trendyol", "trendyol.com"),
+    HEPSIBURADA("hepsiburada", "hepsiburada.com"),
+    N11("n11", "n11.com"),
+    AMAZON("amazon", "amazon.");
+
+    private final String shardKey;
+    private final String hostMarker;
+
+    public static Optional<Retailer> fromUrl(
+            String url
+    ) {
+
+        return fromHost(host(url));
+    }
+
+    public static Optional<Retailer> fromHost(
+            String host
+    ) {
+
+        if (host == null) {
+            return Optional.empty();
+        }
+        return Arrays.stream(values())
+                .filter(retailer -> host.contains(retailer.hostMarker))
+                .findFirst();
+    }
+
+    public String routingKey(
+            String baseRoutingKey
+    ) {
+        return baseRoutingKey + "." + shardKey;
+    }
+
+    public String queueName(
+            String baseQueueName
+    ) {
+        return baseQueueName + "." + shardKey;
+    }
+
+    private static String host(
+            String url
+    ) {
+
+        try {
+            String host = URI.create(url.strip()).getHost();
+            return host != null ? host.toLowerCase(Locale.ROOT) : null;
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+}
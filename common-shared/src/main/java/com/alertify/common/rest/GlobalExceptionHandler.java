@@ -108,8 +108,10 @@ public class GlobalExceptionHandler {
         if (ex.getMessage() != null) {
             if (ex.getMessage().contains("users_email_key"))
                 message = "A user with this email already exists.";
-            else if (ex.getMessage().contains("uc_tracked_product_userid_url"))
+            else if (ex.getMessage().contains("uc_tracked_product_userid_productid"))
                 message = "You are already tracking this product URL.";
+            else if (ex.getMessage().contains("uc_product_url_hash"))
+                message = "This product URL was just registered by another request, please try again.";
         }
 
         ErrorResponse errorResponse = new ErrorResponse(
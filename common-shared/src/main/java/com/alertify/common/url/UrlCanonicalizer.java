@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.common.url;
+
+import com.alertify.common.model.Retailer;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public final class UrlCanonicalizer {
+
+    // the id has to close its path segment, since slugs can contain "-p-" themselves ("philips-p-serisi-...-p-HBC...")
+    private static final Pattern TRENDYOL_PRODUCT = Pattern.compile("^/[^?#]*-p-\\d+(?=/|$)");
+    private static final Pattern HEPSIBURADA_PRODUCT = Pattern.compile("^/[^?#]*-pm?-[A-Za-z0-9]+(?=/|$)");
+    private static final Pattern N11_PRODUCT = Pattern.compile("^/urun/[^/?#]+");
+    private static final Pattern AMAZON_ASIN = Pattern.compile("/(?:dp|gp/product|gp/aw/d|o|exec/obidos/ASIN)/([A-Z0-9]{10})(?=[/?]|$)");
+
+    private static final Set<String> TRACKING_PARAMS = Set.of(
+            "gclid", "gbraid", "wbraid", "fbclid", "yclid", "msclkid", "igshid", "mc_cid", "mc_eid", "_ga", "ref", "ref_"
+    );
+
+    private UrlCanonicalizer() {
+    }
+
+    public static String canonicalize(
+            String url
+    ) {
+
+        if (url == null) {
+            return null;
+        }
+
+        String trimmed = url.strip();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException e) {
+            return trimmed;
+        }
+
+        String scheme = uri.getScheme();
+        String rawHost = uri.getHost();
+        if (scheme == null || rawHost == null) {
+            return trimmed;
+        }
+
+        String host = rawHost.toLowerCase(Locale.ROOT);
+        String path = uri.getRawPath() != null ? uri.getRawPath() : "";
+
+        String retailerUrl = Retailer.fromHost(host)
+                .map(retailer -> canonicalizeProduct(retailer, host, path))
+                .orElse(null);
+        if (retailerUrl != null) {
+            return retailerUrl;
+        }
+        return canonicalizeGeneric(scheme.toLowerCase(Locale.ROOT), host, uri.getPort(), path, uri.getRawQuery());
+    }
+
+    // product pages reduce to the retailer's product identity; anything else (search, category) goes the generic way
+    private static String canonicalizeProduct(
+            Retailer retailer,
+            String host,
+            String path
+    ) {
+
+        return switch (retailer) {
+            case TRENDYOL -> prefixUrl("https://www.trendyol.com", TRENDYOL_PRODUCT, path);
+            case HEPSIBURADA -> prefixUrl("https://www.hepsiburada.com", HEPSIBURADA_PRODUCT, path);
+            case N11 -> prefixUrl("https://www.n11.com", N11_PRODUCT, path);
+            case AMAZON -> {
+                Matcher matcher = AMAZON_ASIN.matcher(path);
+                yield matcher.find() ? "https://www." + storefront(host) + "/dp/" + matcher.group(1) : null;
+            }
+        };
+    }
+
+    private static String prefixUrl(
+            String origin,
+            Pattern productPath,
+            String path
+    ) {
+
+        Matcher matcher = productPath.matcher(path);
+        return matcher.find() ? origin + matcher.group() : null;
+    }
+
+    private static String storefront(
+            String host
+    ) {
+
+        // amazon.com.tr and amazon.de are different stores, so only the subdomain is dropped
+        int start = host.indexOf("amazon.");
+        return start >= 0 ? host.substring(start) : host;
+    }
+
+    private static String canonicalizeGeneric(
+            String scheme,
+            String host,
+            int port,
+            String path,
+            String rawQuery
+    ) {
+
+        StringBuilder canonical = new StringBuilder(scheme.length() + host.length() + path.length() + 16)
+                .append(scheme)
+                .append("://")
+                .append(host.startsWith("m.") ? "www." + host.substring(2) : host);
+
+        boolean defaultPort = port == -1 || ("https".equals(scheme) && port == 443) || ("http".equals(scheme) && port == 80);
+        if (!defaultPort) {
+            canonical.append(':').append(port);
+        }
+
+        int pathEnd = path.length();
+        while (pathEnd > 1 && path.charAt(pathEnd - 1) == '/') {
+            pathEnd--;
+        }
+        if (pathEnd > 1) {
+            canonical.append(path, 0, pathEnd);
+        }
+
+        if (rawQuery != null && !rawQuery.isEmpty()) {
+            appendQuery(canonical, rawQuery);
+        }
+        return canonical.toString();
+    }
+
+    private static void appendQuery(
+            StringBuilder canonical,
+            String rawQuery
+    ) {
+
+        char separator = '?';
+        int start = 0;
+        while (start <= rawQuery.length()) {
+            int end = rawQuery.indexOf('&', start);
+            if (end < 0) {
+                end = rawQuery.length();
+            }
+            if (end > start && !isTrackingParam(rawQuery, start, end)) {
+                canonical.append(separator).append(rawQuery, start, end);
+                separator = '&';
+            }
+            start = end + 1;
+        }
+    }
+
+    private static boolean isTrackingParam(
+            String rawQuery,
+            int start,
+            int end
+    ) {
+
+        int nameEnd = rawQuery.indexOf('=', start);
+        if (nameEnd < 0 || nameEnd > end) {
+            nameEnd = end;
+        }
+        if (rawQuery.regionMatches(true, start, "utm_", 0, 4)) {
+            return true;
+        }
+        return TRACKING_PARAMS.contains(rawQuery.substring(start, nameEnd).toLowerCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.common.infrastructure.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.boot.amqp.autoconfigure.RabbitAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RabbitMQConfigTest {
+
+    // the broker connection is lazy, so the factories can be built without a running RabbitMQ; the shared
+    // conversion service is what a booted application uses to bind the comma separated retry delays
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RabbitAutoConfiguration.class))
+            .withUserConfiguration(RabbitMQConfig.class);
+
+    @Test
+    void should_Apply_Listener_Properties_With_Virtual_Threads() {
+
+        contextRunner
+                .withPropertyValues(
+                        "alertify.rabbitmq.listener.concurrency=2",
+                        "alertify.rabbitmq.listener.max-concurrency=8",
+                        "alertify.rabbitmq.listener.prefetch=50",
+                        "alertify.rabbitmq.listener.virtual-threads=true"
+                )
+                .run(context -> {
+                    SimpleMessageListenerContainer container = container(context, "rabbitListenerContainerFactory");
+
+                    assertEquals(2, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+                    assertEquals(8, ReflectionTestUtils.getField(container, "maxConcurrentConsumers"));
+                    assertEquals(50, ReflectionTestUtils.getField(container, "prefetchCount"));
+                    assertInstanceOf(VirtualThreadTaskExecutor.class, ReflectionTestUtils.getField(container, "taskExecutor"));
+                });
+    }
+
+    @Test
+    void should_Keep_Platform_Threads_And_Spring_Defaults_When_Unset() {
+
+        contextRunner
+                .withPropertyValues(
+                        "alertify.rabbitmq.listener.virtual-threads=false",
+                        "spring.rabbitmq.listener.simple.concurrency=3",
+                        "spring.rabbitmq.listener.simple.prefetch=7"
+                )
+                .run(context -> {
+                    SimpleMessageListenerContainer container = container(context, "rabbitListenerContainerFactory");
+
+                    assertEquals(3, ReflectionTestUtils.getField(container, "concurrentConsumers"));
+                    assertEquals(7, ReflectionTestUtils.getField(container, "prefetchCount"));
+                    assertFalse(ReflectionTestUtils.getField(container, "taskExecutor") instanceof VirtualThreadTaskExecutor);
+                });
+    }
+
+    @Test
+    void should_Raise_Batch_Prefetch_To_Batch_Size() {
+
+        contextRunner
+                .withPropertyValues(
+                        "alertify.rabbitmq.listener.prefetch=10",
+                        "alertify.rabbitmq.listener.virtual-threads=true",
+                        "alertify.rabbitmq.listener.batch-size=50"
+                )
+                .run(context -> {
+                    SimpleMessageListenerContainer container = container(context, "batchRabbitListenerContainerFactory");
+
+                    assertEquals(50, ReflectionTestUtils.getField(container, "prefetchCount"));
+                    assertEquals(50, ReflectionTestUtils.getField(container, "batchSize"));
+                    assertInstanceOf(VirtualThreadTaskExecutor.class, ReflectionTestUtils.getField(container, "taskExecutor"));
+                });
+    }
+
+    private static SimpleMessageListenerContainer container(
+            ApplicationContext context,
+            String factoryName
+    ) {
+        return context.getBean(factoryName, SimpleRabbitListenerContainerFactory.class).createListenerContainer();
+    }
+}
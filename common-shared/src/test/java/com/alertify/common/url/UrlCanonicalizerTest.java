@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.common.url;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class UrlCanonicalizerTest {
+
+    @Test
+    void should_Drop_Trendyol_Query_And_Mobile_Host() {
+
+        assertEquals(
+                "https://www.trendyol.com/apple/iphone-15-p-123456",
+                UrlCanonicalizer.canonicalize(" https://m.trendyol.com/apple/iphone-15-p-123456?boutiqueId=61&merchantId=968#reviews ")
+        );
+        assertEquals(
+                "https://www.trendyol.com/apple/iphone-15-p-123456",
+                UrlCanonicalizer.canonicalize("http://TRENDYOL.com/apple/iphone-15-p-123456/yorumlar")
+        );
+    }
+
+    @Test
+    void should_Keep_Hepsiburada_And_N11_Product_Path() {
+
+        assertEquals(
+                "https://www.hepsiburada.com/apple-iphone-15-p-HBCV00004X9ZT1",
+                UrlCanonicalizer.canonicalize("https://www.hepsiburada.com/apple-iphone-15-p-HBCV00004X9ZT1?magaza=Hepsiburada&utm_source=x")
+        );
+        assertEquals(
+                "https://www.n11.com/urun/apple-iphone-15-2270863",
+                UrlCanonicalizer.canonicalize("https://n11.com/urun/apple-iphone-15-2270863?magaza=abc")
+        );
+    }
+
+    @Test
+    void should_Take_The_Id_That_Ends_The_Segment_When_Slug_Contains_Marker() {
+
+        assertEquals(
+                "https://www.hepsiburada.com/philips-p-serisi-tiras-makinesi-p-HBC0000ABC",
+                UrlCanonicalizer.canonicalize("https://www.hepsiburada.com/philips-p-serisi-tiras-makinesi-p-HBC0000ABC?magaza=x")
+        );
+        assertEquals(
+                "https://www.hepsiburada.com/philips-pm-serisi-pm-HBC0000ABD",
+                UrlCanonicalizer.canonicalize("https://www.hepsiburada.com/philips-pm-serisi-pm-HBC0000ABD/yorumlar")
+        );
+        assertEquals(
+                "https://www.trendyol.com/x/foo-p-2-pro-p-999999",
+                UrlCanonicalizer.canonicalize("https://www.trendyol.com/x/foo-p-2-pro-p-999999?boutiqueId=61")
+        );
+        assertEquals(
+                "https://www.trendyol.com/x/foo-p-2-pro-p-999999",
+                UrlCanonicalizer.canonicalize("https://m.trendyol.com/x/foo-p-2-pro-p-999999/yorumlar")
+        );
+    }
+
+    @Test
+    void should_Reduce_Amazon_Url_To_Asin_Per_Storefront() {
+
+        assertEquals(
+                "https://www.amazon.com.tr/dp/B0CHX1W1XY",
+                UrlCanonicalizer.canonicalize("https://www.amazon.com.tr/Apple-iPhone-15/dp/B0CHX1W1XY/ref=sr_1_1?keywords=iphone")
+        );
+        assertEquals(
+                "https://www.amazon.de/dp/B0CHX1W1XY",
+                UrlCanonicalizer.canonicalize("https://amazon.de/gp/product/B0CHX1W1XY")
+        );
+    }
+
+    @Test
+    void should_Strip_Tracking_Params_From_Unknown_Hosts() {
+
+        assertEquals(
+                "https://shop.example.com:8443/item/42?color=red&size=m",
+                UrlCanonicalizer.canonicalize("HTTPS://Shop.Example.com:8443/item/42/?utm_source=mail&color=red&gclid=abc&size=m#top")
+        );
+        assertEquals(
+                "https://shop.example.com",
+                UrlCanonicalizer.canonicalize("https://shop.example.com:443/?fbclid=1")
+        );
+    }
+
+    @Test
+    void should_Fall_Back_For_Non_Product_Or_Invalid_Urls() {
+
+        assertEquals("https://www.trendyol.com/sr?q=iphone", UrlCanonicalizer.canonicalize("https://www.trendyol.com/sr?q=iphone"));
+        assertEquals("not a url", UrlCanonicalizer.canonicalize(" not a url "));
+        assertNull(UrlCanonicalizer.canonicalize(null));
+    }
+}
@@ -19,7 +19,8 @@ package com.alertify.scraper.adapter.in.messaging;
 import com.alertify.common.event.PriceScrapeCompletedEvent;
 import com.alertify.common.event.ScrapeRequestEvent;
 import com.alertify.common.exception.ResourceNotFoundException;
-import com.alertify.scraper.application.port.out.ScraperPort;
+import com.alertify.common.infrastructure.config.RabbitMQConfig;
+import com.alertify.scraper.application.port.in.ScrapeUseCase;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.domain.model.ScrapedProduct;
 import lombok.RequiredArgsConstructor;
@@ -27,17 +28,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpRejectAndDontRequeueException;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.amqp.support.AmqpHeaders;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.stereotype.Component;
 
 import java.time.Instant;
+import java.util.List;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class ScrapeRequestConsumer {
 
-    private final ScraperPort scraperPort;
+    private final ScrapeUseCase scrapeUseCase;
     private final RabbitTemplate rabbitTemplate;
 
     @Value("${alertify.rabbitmq.exchange}")
@@ -46,14 +50,23 @@ public class ScrapeRequestConsumer {
     @Value("${alertify.rabbitmq.completed-routing-key}")
     private String completedRoutingKey;
 
-    @RabbitListener(queues = "${alertify.rabbitmq.queue}")
+    @Value("${alertify.rabbitmq.retry.delays-ms:5000,30000,120000}")
+    private List<Long> retryDelaysMs;
+
+    @RabbitListener(queues = "${alertify.rabbitmq.queue}", concurrency = "${alertify.scraper.consumers.default:1-2}")
+    @RabbitListener(queues = "${alertify.rabbitmq.queue}.trendyol", concurrency = "${alertify.scraper.consumers.trendyol:2-4}")
+    @RabbitListener(queues = "${alertify.rabbitmq.queue}.hepsiburada", concurrency = "${alertify.scraper.consumers.hepsiburada:2-4}")
+    @RabbitListener(queues = "${alertify.rabbitmq.queue}.n11", concurrency = "${alertify.scraper.consumers.n11:1-2}")
+    @RabbitListener(queues = "${alertify.rabbitmq.queue}.amazon", concurrency = "${alertify.scraper.consumers.amazon:1-2}")
     public void consumeMessage(
-            ScrapeRequestEvent event
+            ScrapeRequestEvent event,
+            @Header(AmqpHeaders.RECEIVED_ROUTING_KEY) String routingKey,
+            @Header(name = RabbitMQConfig.RETRY_ATTEMPT_HEADER, required = false) Integer attempt
     ) {
 
         log.info("Scrape Request received for Product ID: {} | URL: {}", event.getProductId(), event.getUrl());
         try {
-            ScrapedProduct product = scraperPort.fetchProduct(event.getUrl());
+            ScrapedProduct product = scrapeUseCase.getScrapedProduct(event.getUrl());
 
             PriceScrapeCompletedEvent completedEvent = new PriceScrapeCompletedEvent(
                     event.getProductId(),
@@ -62,7 +75,7 @@ public class ScrapeRequestConsumer {
                     product.getInStock(),
                     product.getPrice(),
                     product.getCurrency(),
-                    Instant.now()
+                    product.getScrapedAt() != null ? product.getScrapedAt() : Instant.now()
             );
 
             rabbitTemplate.convertAndSend(exchange, completedRoutingKey, completedEvent);
@@ -73,11 +86,10 @@ public class ScrapeRequestConsumer {
 
         } catch (ScrapeFailedException e) {
             if (e.isTransient()) {
-                log.warn("Transient error detected (Retryable): {}", e.getMessage());
-                throw e;
+                scheduleRetry(event, routingKey, attempt == null ? 0 : attempt, e);
             } else {
                 log.error("Permanent scrape error (To DLQ): {}", e.getMessage());
-                throw new org.springframework.amqp.AmqpRejectAndDontRequeueException(e);
+                throw new AmqpRejectAndDontRequeueException(e);
             }
 
         } catch (Exception e) {
@@ -85,4 +97,26 @@ public class ScrapeRequestConsumer {
             throw new RuntimeException("Unexpected scraper error", e);
         }
     }
-}
\ No newline at end of file
+
+    private void scheduleRetry(
+            ScrapeRequestEvent event,
+            String routingKey,
+            int attempt,
+            ScrapeFailedException e
+    ) {
+
+        if (attempt >= retryDelaysMs.size()) {
+            log.error("Transient error persisted after {} retries (To DLQ): {}", attempt, e.getMessage());
+            throw new AmqpRejectAndDontRequeueException(e);
+        }
+
+        // parked in a TTL queue instead of sleeping on the listener thread
+        int nextAttempt = attempt + 1;
+        rabbitTemplate.convertAndSend(RabbitMQConfig.retryExchangeName(nextAttempt), routingKey, event, message -> {
+            message.getMessageProperties().setHeader(RabbitMQConfig.RETRY_ATTEMPT_HEADER, nextAttempt);
+            return message;
+        });
+        log.warn("Transient error detected, retry {} in {} ms for ID: {} - {}",
+                nextAttempt, retryDelaysMs.get(attempt), event.getProductId(), e.getMessage());
+    }
+}
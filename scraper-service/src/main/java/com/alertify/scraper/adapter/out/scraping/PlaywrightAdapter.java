@@ -17,69 +17,65 @@
 package com.alertify.scraper.adapter.out.scraping;
 
 import com.alertify.common.exception.ResourceNotFoundException;
+import com.alertify.scraper.adapter.out.scraping.browser.BrowserPool;
 import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
-import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategyFactory;
-import com.alertify.scraper.application.port.out.ScraperPort;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.domain.model.ScrapedProduct;
 import com.microsoft.playwright.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import com.microsoft.playwright.options.WaitForSelectorState;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
-import java.util.List;
-
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class PlaywrightAdapter implements ScraperPort {
-
-    private final ScrapingStrategyFactory factory;
+public class PlaywrightAdapter {
+
+    private static final String HIDDEN_ATTRIBUTE = "data-alertify-hidden";
+
+    // marks every element the browser does not render (display, visibility, opacity, or inside a hidden parent)
+    // and serialises the DOM in the same round trip, so the snapshot only keeps what a shopper actually sees
+    private static final String MARK_HIDDEN_AND_SERIALIZE = """
+            () => {
+                const skipped = new Set(['SCRIPT', 'STYLE', 'TEMPLATE', 'NOSCRIPT', 'META', 'LINK']);
+                const walker = document.createTreeWalker(document.body, NodeFilter.SHOW_ELEMENT, {
+                    acceptNode: element => {
+                        if (skipped.has(element.tagName)) {
+                            return NodeFilter.FILTER_REJECT;
+                        }
+                        if (!element.checkVisibility({ opacityProperty: true, visibilityProperty: true })) {
+                            element.setAttribute('%s', '');
+                            return NodeFilter.FILTER_REJECT;
+                        }
+                        return NodeFilter.FILTER_ACCEPT;
+                    }
+                });
+                while (walker.nextNode()) {}
+                return document.documentElement.outerHTML;
+            }
+            """.formatted(HIDDEN_ATTRIBUTE);
+
+    private final BrowserPool browserPool;
+
+    @Value("${alertify.scraper.snapshot-extraction.ready-timeout-ms:15000}")
+    private double readyTimeoutMs;
 
-    @Override
     public ScrapedProduct fetchProduct(
+            ScrapingStrategy strategy,
             String url
     ) {
 
-        ScrapingStrategy strategy = factory.getStrategy(url);
-
-        List<String> args = Arrays.asList(
-                "--headless=new",
-                "--disable-blink-features=AutomationControlled",
-                "--no-sandbox",
-                "--disable-gpu"
-        );
-
-        try (Playwright playwright = Playwright.create();
-             Browser browser = playwright.chromium().launch(new BrowserType.LaunchOptions()
-                     .setHeadless(false)
-                     .setArgs(args))) {
-
-            BrowserContext context = browser.newContext(new Browser.NewContextOptions()
-                    .setUserAgent("Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36")
-                    .setViewportSize(1920, 1080)
-                    .setLocale("tr-TR")
-                    .setTimezoneId("Europe/Istanbul"));
-
-            context.addInitScript("Object.defineProperty(navigator, 'webdriver', {get: () => undefined})");
-
-            Page page = context.newPage();
-
-            page.route("**/*", route -> {
-                String type = route.request().resourceType();
-                if (Arrays.asList("image", "media", "font").contains(type)) {
-                    route.abort();
-                } else {
-                    route.resume();
-                }
+        try {
+            return browserPool.execute(strategy.getShopName(), page -> {
+                log.info("Navigating to URL ({}) : {}", strategy.getClass().getSimpleName(), url);
+                page.navigate(url, new Page.NavigateOptions().setTimeout(45000));
+                return extractFromSnapshot(strategy, page);
             });
 
-            log.info("Navigating to URL ({}) : {}", strategy.getClass().getSimpleName(), url);
-            page.navigate(url, new Page.NavigateOptions().setTimeout(45000));
-
-            return strategy.scrape(page);
-
         } catch (TimeoutError e) {
             log.error("Playwright Timeout Error for URL: {}", url);
             throw new ScrapeFailedException("Timeout during navigation or scraping: " + e.getMessage(), true);
@@ -96,4 +92,32 @@ public class PlaywrightAdapter implements ScraperPort {
             throw new ScrapeFailedException("Internal Scraper Error: " + e.getMessage(), false);
         }
     }
-}
\ No newline at end of file
+
+    private ScrapedProduct extractFromSnapshot(
+            ScrapingStrategy strategy,
+            Page page
+    ) {
+
+        boolean ready = true;
+        try {
+            page.waitForSelector(strategy.getReadySelector(), new Page.WaitForSelectorOptions()
+                    .setState(WaitForSelectorState.VISIBLE)
+                    .setTimeout(readyTimeoutMs));
+        } catch (TimeoutError e) {
+            // still snapshot: a 404 or captcha page is recognised from the document itself
+            ready = false;
+        }
+
+        // one round trip for the whole rendered DOM instead of one per locator call
+        Document document = Jsoup.parse((String) page.evaluate(MARK_HIDDEN_AND_SERIALIZE), page.url());
+        document.select("[" + HIDDEN_ATTRIBUTE + "]").remove();
+        try {
+            return strategy.extract(document);
+        } catch (ScrapeFailedException e) {
+            if (!ready) {
+                throw new ScrapeFailedException("Timeout waiting for " + strategy.getShopName() + " product page to render. Network or blocking issue.", true);
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping;
+
+import com.alertify.scraper.domain.model.ScrapedProduct;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.springframework.stereotype.Component;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Slf4j
+@Component
+public class StaticProductExtractor {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public Optional<ScrapedProduct> extract(
+            Document document,
+            String shopName
+    ) {
+
+        JsonNode offer = null;
+        String name = null;
+
+        JsonNode product = findJsonLdProduct(document);
+        if (product != null) {
+            name = text(product.path("name"));
+            offer = product.path("offers");
+            if (offer.isArray()) {
+                offer = offer.path(0);
+            }
+        }
+
+        if (name == null) {
+            Element heading = document.selectFirst("h1");
+            name = firstNonBlank(meta(document, "og:title"), heading != null ? heading.text() : null);
+        }
+
+        BigDecimal price = null;
+        String currency = null;
+        Boolean inStock = null;
+
+        if (offer != null && !offer.isMissingNode()) {
+            price = parseMachinePrice(firstNonBlank(text(offer.path("price")), text(offer.path("lowPrice"))));
+            currency = text(offer.path("priceCurrency"));
+            inStock = parseAvailability(text(offer.path("availability")));
+        }
+
+        if (price == null) {
+            price = parseMachinePrice(firstNonBlank(meta(document, "product:price:amount"), meta(document, "og:price:amount")));
+        }
+        if (currency == null) {
+            currency = firstNonBlank(meta(document, "product:price:currency"), meta(document, "og:price:currency"));
+        }
+        if (inStock == null) {
+            inStock = parseAvailability(firstNonBlank(meta(document, "product:availability"), meta(document, "og:availability")));
+        }
+
+        if (name == null || inStock == null) {
+            return Optional.empty();
+        }
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            if (inStock) {
+                return Optional.empty();
+            }
+            price = BigDecimal.ZERO;
+        }
+
+        return Optional.of(ScrapedProduct.builder()
+                .productName(name.trim())
+                .price(price)
+                .currency(currency != null ? currency : "TRY")
+                .shopName(shopName)
+                .inStock(inStock)
+                .build());
+    }
+
+    private JsonNode findJsonLdProduct(
+            Document document
+    ) {
+
+        for (Element script : document.select("script[type=application/ld+json]")) {
+            try {
+                JsonNode product = findProductNode(objectMapper.readTree(script.data()));
+                if (product != null) {
+                    return product;
+                }
+            } catch (JacksonException e) {
+                log.debug("Skipping malformed JSON-LD block: {}", e.getMessage());
+            }
+        }
+        return null;
+    }
+
+    private JsonNode findProductNode(
+            JsonNode node
+    ) {
+
+        if (node == null) {
+            return null;
+        }
+        if (node.isArray()) {
+            for (JsonNode child : node.values()) {
+                JsonNode product = findProductNode(child);
+                if (product != null) {
+                    return product;
+                }
+            }
+            return null;
+        }
+        if (!node.isObject()) {
+            return null;
+        }
+
+        JsonNode type = node.path("@type");
+        if ("Product".equals(text(type)) || (type.isArray() && type.values().stream().anyMatch(t -> "Product".equals(text(t))))) {
+            return node;
+        }
+        return findProductNode(node.get("@graph"));
+    }
+
+    private Boolean parseAvailability(
+            String availability
+    ) {
+
+        if (availability == null) {
+            return null;
+        }
+        String value = availability.toLowerCase().replace(" ", "");
+        if (value.contains("outofstock") || value.contains("soldout") || value.contains("discontinued") || value.equals("oos")) {
+            return false;
+        }
+        if (value.contains("instock") || value.contains("limitedavailability") || value.contains("onlineonly")) {
+            return true;
+        }
+        return null;
+    }
+
+    static BigDecimal parseMachinePrice(
+            String rawPrice
+    ) {
+
+        if (rawPrice == null) {
+            return null;
+        }
+
+        // schema.org and Open Graph prices always use '.' as the decimal separator, so "12.500" is 12.5;
+        // only a value that is not a plain number (a sloppy "1.299,90 TL") goes through the display heuristic
+        try {
+            return new BigDecimal(rawPrice.strip());
+        } catch (NumberFormatException e) {
+            return parsePrice(rawPrice);
+        }
+    }
+
+    static BigDecimal parsePrice(
+            String rawPrice
+    ) {
+
+        if (rawPrice == null) {
+            return null;
+        }
+
+        String digits = rawPrice.replaceAll("[^0-9.,]", "");
+        int lastComma = digits.lastIndexOf(',');
+        int lastDot = digits.lastIndexOf('.');
+
+        if (lastComma >= 0 && lastDot >= 0) {
+            // whichever separator comes last is the decimal one: "1.299,90" or "1,299.90"
+            digits = lastComma > lastDot
+                    ? digits.replace(".", "").replace(',', '.')
+                    : digits.replace(",", "");
+        } else if (lastComma >= 0) {
+            digits = digits.length() - lastComma - 1 == 3 ? digits.replace(",", "") : digits.replace(',', '.');
+        } else if (lastDot >= 0 && digits.length() - lastDot - 1 == 3 && digits.indexOf('.') != 0) {
+            // Turkish thousands separator: "25.000"
+            digits = digits.replace(".", "");
+        }
+
+        try {
+            return digits.isEmpty() ? null : new BigDecimal(digits);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String meta(
+            Document document,
+            String property
+    ) {
+
+        Element element = document.selectFirst("meta[property='" + property + "'], meta[name='" + property + "']");
+        return element != null ? element.attr("content") : null;
+    }
+
+    private String text(
+            JsonNode node
+    ) {
+
+        if (node == null || node.isMissingNode() || node.isNull() || node.isContainer()) {
+            return null;
+        }
+        String value = node.asString();
+        return value.isBlank() ? null : value;
+    }
+
+    private String firstNonBlank(
+            String first,
+            String second
+    ) {
+        if (first != null && !first.isBlank()) {
+            return first;
+        }
+        return second != null && !second.isBlank() ? second : null;
+    }
+}
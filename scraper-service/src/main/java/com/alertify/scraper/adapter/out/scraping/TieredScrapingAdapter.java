@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import com.alertify.scraper.adapter.out.scraping.governor.RateGovernor;
+import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
+import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategyFactory;
+import com.alertify.scraper.application.port.out.ScraperPort;
+import com.alertify.scraper.domain.model.ScrapedProduct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TieredScrapingAdapter implements ScraperPort {
+
+    private final ScrapingStrategyFactory factory;
+    private final StaticPageFetcher staticPageFetcher;
+    private final StaticProductExtractor staticProductExtractor;
+    private final PlaywrightAdapter playwrightAdapter;
+    private final RateGovernor rateGovernor;
+
+    @Value("${alertify.scraper.static-fetch.enabled:true}")
+    private boolean staticFetchEnabled;
+
+    @Value("${alertify.scraper.static-fetch.disabled-shops:}")
+    private List<String> disabledShops;
+
+    @Value("${alertify.scraper.static-fetch.selector-extraction-shops:}")
+    private List<String> selectorExtractionShops;
+
+    @Override
+    public ScrapedProduct fetchProduct(
+            String url
+    ) {
+
+        ScrapingStrategy strategy = factory.getStrategy(url);
+        ScrapedProduct product = rateGovernor.execute(strategy.getShopName(), () -> fetchProduct(strategy, url));
+        // stamped here so that results served from the cache keep the time the page was actually read
+        product.setScrapedAt(Instant.now());
+        return product;
+    }
+
+    private ScrapedProduct fetchProduct(
+            ScrapingStrategy strategy,
+            String url
+    ) {
+
+        if (staticFetchEnabled && !disabledShops.contains(strategy.getShopName())) {
+            Optional<ScrapedProduct> product = staticPageFetcher.fetch(url)
+                    .flatMap(document -> extractStatic(strategy, document));
+
+            if (product.isPresent()) {
+                log.info("Scraped via static HTML ({}) : {}", strategy.getShopName(), url);
+                return product.get();
+            }
+            log.debug("Static HTML lacks product data, escalating to browser: {}", url);
+        }
+
+        return playwrightAdapter.fetchProduct(strategy, url);
+    }
+
+    private Optional<ScrapedProduct> extractStatic(
+            ScrapingStrategy strategy,
+            Document document
+    ) {
+
+        Optional<ScrapedProduct> product = staticProductExtractor.extract(document, strategy.getShopName());
+        if (product.isPresent() || !selectorExtractionShops.contains(strategy.getShopName())) {
+            return product;
+        }
+
+        // only for shops whose stock markers are server rendered, otherwise a missing "sold out" badge reads as in stock
+        try {
+            return Optional.of(strategy.extract(document));
+        } catch (ScrapeFailedException e) {
+            log.debug("Selector extraction on static HTML failed for {}: {}", strategy.getShopName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
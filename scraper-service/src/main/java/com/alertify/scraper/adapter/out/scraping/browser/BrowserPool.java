@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+public class BrowserPool {
+
+    private static final List<String> LAUNCH_ARGS = List.of(
+            "--headless=new",
+            "--disable-blink-features=AutomationControlled",
+            "--no-sandbox",
+            "--disable-gpu"
+    );
+
+    private static final String USER_AGENT = "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_15_7) AppleWebKit/537.36 (KHTML, like Gecko) Chrome/120.0.0.0 Safari/537.36";
+    private static final String INIT_SCRIPT = "Object.defineProperty(navigator, 'webdriver', {get: () => undefined})";
+
+    @Value("${alertify.scraper.browser-pool.size:2}")
+    private int size;
+
+    @Value("${alertify.scraper.browser-pool.acquire-timeout-ms:60000}")
+    private long acquireTimeoutMs;
+
+    @Value("${alertify.scraper.browser-pool.max-scrapes-per-browser:500}")
+    private int maxScrapesPerBrowser;
+
+    @Value("${alertify.scraper.browser-pool.warm-up:true}")
+    private boolean warmUp;
+
+    @Value("${alertify.scraper.browser-pool.context.max-pages:50}")
+    private int maxPagesPerContext;
+
+    @Value("${alertify.scraper.browser-pool.context.max-age-minutes:30}")
+    private long maxContextAgeMinutes;
+
+    private final List<PooledBrowser> browsers = new ArrayList<>();
+    private BlockingQueue<PooledBrowser> idleBrowsers;
+
+    @PostConstruct
+    void init() {
+
+        BrowserSettings settings = new BrowserSettings(
+                new BrowserType.LaunchOptions()
+                        .setHeadless(false)
+                        .setArgs(LAUNCH_ARGS),
+                new Browser.NewContextOptions()
+                        .setUserAgent(USER_AGENT)
+                        .setViewportSize(1920, 1080)
+                        .setLocale("tr-TR")
+                        .setTimezoneId("Europe/Istanbul"),
+                INIT_SCRIPT,
+                maxScrapesPerBrowser,
+                maxPagesPerContext,
+                Duration.ofMinutes(maxContextAgeMinutes)
+        );
+
+        List<PooledBrowser> slots = new ArrayList<>(size);
+        for (int slot = 0; slot < size; slot++) {
+            slots.add(new PooledBrowser(slot, settings));
+        }
+        start(slots);
+        log.info("Browser pool initialized with {} slot(s)", size);
+    }
+
+    // split from init so the hand-out and timeout logic can run against slots that never launch Chromium
+    void start(
+            List<PooledBrowser> slots
+    ) {
+
+        idleBrowsers = new ArrayBlockingQueue<>(slots.size());
+        for (PooledBrowser browser : slots) {
+            browsers.add(browser);
+            idleBrowsers.add(browser);
+            if (warmUp) {
+                browser.warmUp();
+            }
+        }
+    }
+
+    public <T> T execute(
+            String contextKey,
+            Function<Page, T> task
+    ) {
+
+        PooledBrowser browser = acquire();
+        try {
+            return browser.execute(contextKey, task);
+        } finally {
+            idleBrowsers.add(browser);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        log.info("Shutting down browser pool...");
+        browsers.forEach(PooledBrowser::shutdown);
+    }
+
+    private PooledBrowser acquire() {
+
+        try {
+            PooledBrowser browser = idleBrowsers.poll(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+            if (browser == null) {
+                throw new ScrapeFailedException("No browser became available within " + acquireTimeoutMs + " ms", true);
+            }
+            return browser;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapeFailedException("Interrupted while waiting for a browser", true);
+        }
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.alertify.common.exception.ResourceNotFoundException;
+import com.alertify.common.exception.ScrapeFailedException;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Slf4j
+class PooledBrowser {
+
+    private static final Set<String> BLOCKED_RESOURCE_TYPES = Set.of("image", "media", "font");
+
+    private final int slot;
+    private final BrowserSettings settings;
+    private final Supplier<Playwright> driverFactory;
+    private final ExecutorService thread;
+    private final Map<String, WarmContext> contexts = new HashMap<>();
+
+    private Playwright playwright;
+    private Browser browser;
+    private int scrapeCount;
+
+    PooledBrowser(
+            int slot,
+            BrowserSettings settings
+    ) {
+        this(slot, settings, Playwright::create);
+    }
+
+    PooledBrowser(
+            int slot,
+            BrowserSettings settings,
+            Supplier<Playwright> driverFactory
+    ) {
+        this.slot = slot;
+        this.settings = settings;
+        this.driverFactory = driverFactory;
+        // Playwright's sync API is not thread-safe: the driver and browser of this slot are only touched here
+        this.thread = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "playwright-" + slot);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    void warmUp() {
+        thread.submit(() -> {
+            try {
+                ensureHealthy();
+            } catch (Exception e) {
+                log.error("Browser slot {} failed to warm up: {}", slot, e.getMessage());
+            }
+        });
+    }
+
+    <T> T execute(
+            String contextKey,
+            Function<Page, T> task
+    ) {
+
+        Future<T> future = thread.submit(() -> {
+            ensureHealthy();
+            scrapeCount++;
+
+            WarmContext context = acquireContext(contextKey);
+            Page page = context.newPage();
+            try {
+                return task.apply(page);
+            } catch (ResourceNotFoundException e) {
+                throw e;
+            } catch (RuntimeException e) {
+                // a failed scrape usually means a captcha, consent wall or block; start that retailer over with a clean context
+                log.info("Evicting {} context of browser slot {} after failed scrape: {}", contextKey, slot, e.getMessage());
+                evictContext(contextKey);
+                throw e;
+            } finally {
+                closeQuietly(page);
+                if (!browser.isConnected()) {
+                    log.warn("Browser slot {} disconnected during scrape. It will be replaced.", slot);
+                    close();
+                }
+            }
+        });
+
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ScrapeFailedException("Browser task failed: " + e.getCause().getMessage(), false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ScrapeFailedException("Interrupted while waiting for browser slot " + slot, true);
+        }
+    }
+
+    void shutdown() {
+        try {
+            thread.submit(this::close).get();
+        } catch (Exception e) {
+            log.warn("Browser slot {} did not close cleanly: {}", slot, e.getMessage());
+        } finally {
+            thread.shutdownNow();
+        }
+    }
+
+    private void ensureHealthy() {
+
+        if (browser != null && shouldRecycle(browser.isConnected(), scrapeCount, settings.maxScrapesPerBrowser())) {
+            log.info("Recycling browser slot {} (connected: {}, scrapes: {})", slot, browser.isConnected(), scrapeCount);
+            close();
+        }
+
+        if (browser == null) {
+            playwright = driverFactory.get();
+            browser = playwright.chromium().launch(settings.launchOptions());
+            scrapeCount = 0;
+            log.info("Browser slot {} launched (Chromium {})", slot, browser.version());
+        }
+    }
+
+    // a long-lived Chromium keeps growing its memory, so it is replaced after a fixed number of scrapes as well
+    static boolean shouldRecycle(
+            boolean connected,
+            int scrapeCount,
+            int maxScrapes
+    ) {
+        return !connected || scrapeCount >= maxScrapes;
+    }
+
+    private WarmContext acquireContext(
+            String contextKey
+    ) {
+
+        WarmContext context = contexts.get(contextKey);
+        if (context != null && context.isExpired(settings.maxPagesPerContext(), settings.maxContextAge())) {
+            log.debug("Recycling expired {} context of browser slot {}", contextKey, slot);
+            evictContext(contextKey);
+            context = null;
+        }
+
+        if (context == null) {
+            context = new WarmContext(newContext());
+            contexts.put(contextKey, context);
+            log.debug("Created new {} context on browser slot {}", contextKey, slot);
+        }
+        return context;
+    }
+
+    private BrowserContext newContext() {
+
+        BrowserContext context = browser.newContext(settings.contextOptions());
+        context.addInitScript(settings.contextInitScript());
+        context.route("**/*", route -> {
+            if (BLOCKED_RESOURCE_TYPES.contains(route.request().resourceType())) {
+                route.abort();
+            } else {
+                route.resume();
+            }
+        });
+        return context;
+    }
+
+    private void evictContext(
+            String contextKey
+    ) {
+
+        WarmContext context = contexts.remove(contextKey);
+        if (context == null) {
+            return;
+        }
+        try {
+            context.close();
+        } catch (Exception e) {
+            log.debug("Ignoring error while closing {} context of browser slot {}: {}", contextKey, slot, e.getMessage());
+        }
+    }
+
+    private void closeQuietly(
+            Page page
+    ) {
+        try {
+            page.close();
+        } catch (Exception e) {
+            log.debug("Ignoring error while closing page on browser slot {}: {}", slot, e.getMessage());
+        }
+    }
+
+    private void close() {
+
+        contexts.clear();
+
+        try {
+            if (browser != null) {
+                browser.close();
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring error while closing browser slot {}: {}", slot, e.getMessage());
+        }
+
+        try {
+            if (playwright != null) {
+                playwright.close();
+            }
+        } catch (Exception e) {
+            log.debug("Ignoring error while closing Playwright driver of slot {}: {}", slot, e.getMessage());
+        }
+
+        browser = null;
+        playwright = null;
+    }
+}
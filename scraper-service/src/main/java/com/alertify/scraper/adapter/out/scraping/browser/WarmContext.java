@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+class WarmContext {
+
+    @Getter
+    private final BrowserContext context;
+    private final Instant createdAt;
+    private int pageCount;
+
+    WarmContext(
+            BrowserContext context
+    ) {
+        this(context, Instant.now());
+    }
+
+    WarmContext(
+            BrowserContext context,
+            Instant createdAt
+    ) {
+        this.context = context;
+        this.createdAt = createdAt;
+    }
+
+    Page newPage() {
+        pageCount++;
+        return context.newPage();
+    }
+
+    boolean isExpired(
+            int maxPages,
+            Duration maxAge
+    ) {
+        return pageCount >= maxPages || Instant.now().isAfter(createdAt.plus(maxAge));
+    }
+
+    void close() {
+        context.close();
+    }
+}
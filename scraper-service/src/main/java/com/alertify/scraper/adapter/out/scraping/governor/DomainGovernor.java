@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.governor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+class DomainGovernor {
+
+    private final double permitsPerNano;
+    private final int burst;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private double tokens;
+    private long lastRefill;
+
+    DomainGovernor(
+            RateGovernorProperties.DomainLimit limit
+    ) {
+        this.permitsPerNano = limit.permitsPerSecond() / TimeUnit.SECONDS.toNanos(1);
+        this.burst = Math.max(1, limit.burst());
+        this.maxInFlight = Math.max(1, limit.maxInFlight());
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    boolean acquire(
+            long deadline
+    ) throws InterruptedException {
+
+        if (!inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+            return false;
+        }
+
+        long wait;
+        while ((wait = tryTakeToken()) > 0) {
+            // compared as a difference so a huge wait cannot overflow past the deadline
+            if (wait > deadline - System.nanoTime()) {
+                inFlight.release();
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return true;
+    }
+
+    void release() {
+        inFlight.release();
+    }
+
+    int availableInFlight() {
+        return inFlight.availablePermits();
+    }
+
+    int maxInFlight() {
+        return maxInFlight;
+    }
+
+    synchronized double availableTokens() {
+        refill(System.nanoTime());
+        return tokens;
+    }
+
+    private synchronized long tryTakeToken() {
+
+        refill(System.nanoTime());
+        if (tokens >= 1) {
+            tokens -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - tokens) / permitsPerNano);
+    }
+
+    private void refill(
+            long now
+    ) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+    }
+}
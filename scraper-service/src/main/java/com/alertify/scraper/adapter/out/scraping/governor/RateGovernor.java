@@ -0,0 +1,92 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.governor;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@EnableConfigurationProperties(RateGovernorProperties.class)
+public class RateGovernor {
+
+    private final RateGovernorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, DomainGovernor> governors = new ConcurrentHashMap<>();
+
+    public <T> T execute(
+            String shopName,
+            Supplier<T> task
+    ) {
+
+        if (!properties.enabled()) {
+            return task.get();
+        }
+
+        DomainGovernor governor = governors.computeIfAbsent(shopName, this::register);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.maxWaitMs());
+
+        try {
+            if (!governor.acquire(deadline)) {
+                log.warn("No {} permit within {} ms, backing off", shopName, properties.maxWaitMs());
+                throw ScrapeFailedException.rateLimited(shopName + " request budget exhausted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapeFailedException("Interrupted while waiting for a " + shopName + " permit", true);
+        }
+
+        try {
+            return task.get();
+        } finally {
+            governor.release();
+        }
+    }
+
+    private DomainGovernor register(
+            String shopName
+    ) {
+
+        DomainGovernor governor = new DomainGovernor(properties.limitFor(shopName));
+
+        Gauge.builder("alertify.scraper.governor.tokens", governor, DomainGovernor::availableTokens)
+                .description("Request tokens currently available for the shop")
+                .tag("shop", shopName)
+                .register(meterRegistry);
+        Gauge.builder("alertify.scraper.governor.active", governor, g -> g.maxInFlight() - g.availableInFlight())
+                .description("Scrapes currently running against the shop")
+                .tag("shop", shopName)
+                .register(meterRegistry);
+        Gauge.builder("alertify.scraper.governor.slots.available", governor, DomainGovernor::availableInFlight)
+                .description("Free concurrent scrape slots for the shop")
+                .tag("shop", shopName)
+                .register(meterRegistry);
+
+        return governor;
+    }
+}
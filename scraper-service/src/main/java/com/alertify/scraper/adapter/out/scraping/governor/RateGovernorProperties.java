@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.governor;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+
+@ConfigurationProperties("alertify.scraper.rate-governor")
+public record RateGovernorProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30000") long maxWaitMs,
+        @DefaultValue DomainLimit defaults,
+        Map<String, DomainLimit> shops
+) {
+
+    public DomainLimit limitFor(
+            String shopName
+    ) {
+        return shops != null && shops.containsKey(shopName) ? shops.get(shopName) : defaults;
+    }
+
+    public record DomainLimit(
+            @DefaultValue("1.0") double permitsPerSecond,
+            @DefaultValue("2") int burst,
+            @DefaultValue("2") int maxInFlight
+    ) {
+
+        // a zero or negative rate would make every wait infinite, so it fails the binding at startup
+        public DomainLimit {
+            if (!(permitsPerSecond > 0) || Double.isInfinite(permitsPerSecond)) {
+                throw new IllegalArgumentException("permits-per-second must be a positive number, got " + permitsPerSecond);
+            }
+        }
+    }
+}
@@ -17,10 +17,29 @@
 package com.alertify.scraper.adapter.out.scraping.strategies;
 
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Page;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 
 public interface ScrapingStrategy {
 
     boolean canScrape(String url);
-    ScrapedProduct scrape(Page page);
+    String getShopName();
+
+    String getReadySelector();
+    ScrapedProduct extract(Document document);
+
+    // the nearest ancestor of the title that holds the buy box, so prices and stock markers are only read from
+    // the product itself and not from recommendation carousels elsewhere on the page
+    static Element productScope(
+            Element heading,
+            String buyBoxSelector
+    ) {
+
+        for (Element scope = heading.parent(); scope != null; scope = scope.parent()) {
+            if (scope.selectFirst(buyBoxSelector) != null) {
+                return scope;
+            }
+        }
+        return heading.ownerDocument() != null ? heading.ownerDocument() : heading;
+    }
 }
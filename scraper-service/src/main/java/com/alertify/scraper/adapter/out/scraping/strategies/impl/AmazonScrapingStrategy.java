@@ -20,10 +20,8 @@ import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
-import com.microsoft.playwright.options.LoadState;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -39,85 +37,77 @@ public class AmazonScrapingStrategy implements ScrapingStrategy {
     }
 
     @Override
-    public ScrapedProduct scrape(
-            Page page
-    ) {
+    public String getShopName() {
+        return "Amazon";
+    }
 
-        try {
-            page.waitForLoadState(LoadState.DOMCONTENTLOADED);
+    @Override
+    public String getReadySelector() {
+        return "span#productTitle, form[action*='/errors/validateCaptcha'], img[alt*='Dogs of Amazon']";
+    }
 
-            if (page.locator("from[action*='/errors/validateCaptcha']").isVisible() ||
-                    page.title().contains("Robot Check")) {
-                throw new ScrapeFailedException("Amazon detected bot/captcha. Retry required.", true);
-            }
+    @Override
+    public ScrapedProduct extract(
+            Document document
+    ) {
 
-            if (page.title().contains("Page Not Found") ||
-                    page.locator("img[alt*='Dogs of Amazon']").isVisible()) {
-                throw new ResourceNotFoundException("Amazon Product", "page", "Page not found / Dogs");
-            }
-            page.waitForSelector("span#productTitle", new Page.WaitForSelectorOptions().setTimeout(10000));
-        } catch (TimeoutError e) {
-            throw new ScrapeFailedException("Timeout waiting for product title. Network might be slow.", true);
+        if (document.selectFirst("form[action*=/errors/validateCaptcha]") != null ||
+                document.title().contains("Robot Check")) {
+            throw new ScrapeFailedException("Amazon detected bot/captcha. Retry required.", true);
         }
 
-        String productName;
-        if (page.locator("span#productTitle").isVisible()) {
-            productName = page.locator("span#productTitle").innerText();
-        } else {
-            throw new ScrapeFailedException("Product title selector not visible. HTML structure might have changed.", false);
+        if (document.title().contains("Page Not Found") ||
+                document.selectFirst("img[alt*=Dogs of Amazon]") != null) {
+            throw new ResourceNotFoundException("Amazon Product", "page", "Page not found / Dogs");
         }
 
-        BigDecimal price = BigDecimal.ZERO;
-
-        Locator priceContainer = page.locator(".a-price.priceToPay").first();
+        Element title = document.selectFirst("span#productTitle");
+        if (title == null) {
+            throw new ScrapeFailedException("Product title selector not found. HTML structure might have changed.", false);
+        }
 
-        if (!priceContainer.isVisible()) {
-            priceContainer = page.locator("#corePriceDisplay_desktop_feature_div .a-price").first();
+        Element product = ScrapingStrategy.productScope(title, ".a-price");
+        Element priceContainer = product.selectFirst(".a-price.priceToPay");
+        if (priceContainer == null) {
+            priceContainer = product.selectFirst("#corePriceDisplay_desktop_feature_div .a-price");
         }
-        if (!priceContainer.isVisible()) {
-            priceContainer = page.locator(".a-price").first();
+        if (priceContainer == null) {
+            priceContainer = product.selectFirst(".a-price");
         }
 
         boolean inStock = true;
-        if (page.locator("#availability").isVisible()) {
-            String text = page.locator("#availability").innerText().toLowerCase();
+        Element availability = document.selectFirst("#availability");
+        if (availability != null) {
+            String text = availability.text().toLowerCase();
             if (text.contains("unavailable") || text.contains("stokta yok") || text.contains("mevcut değil")) {
                 inStock = false;
             }
         }
 
-        if (priceContainer.isVisible()) {
+        BigDecimal price = BigDecimal.ZERO;
+        if (priceContainer != null) {
             try {
-                String whole = "0";
-                if (priceContainer.locator(".a-price-whole").count() > 0) {
-                    String rawWhole = priceContainer.locator(".a-price-whole").first().innerText();
-                    whole = rawWhole.replaceAll("[^0-9]", "");
-                }
+                Element wholeElement = priceContainer.selectFirst(".a-price-whole");
+                String whole = wholeElement != null ? wholeElement.text().replaceAll("[^0-9]", "") : "0";
 
-                String fraction = "00";
-                if (priceContainer.locator(".a-price-fraction").count() > 0) {
-                    String rawFraction = priceContainer.locator(".a-price-fraction").first().innerText();
-                    fraction = rawFraction.replaceAll("[^0-9]", "");
-                }
+                Element fractionElement = priceContainer.selectFirst(".a-price-fraction");
+                String fraction = fractionElement != null ? fractionElement.text().replaceAll("[^0-9]", "") : "00";
 
-                String finalPriceString = whole + "." + fraction;
-                price = new BigDecimal(finalPriceString);
+                price = new BigDecimal(whole + "." + fraction);
 
             } catch (Exception e) {
                 throw new ScrapeFailedException("Failed to parse price text. Format changed?", false);
             }
-        } else {
-            if (inStock) {
-                throw new ScrapeFailedException("Product is in stock but price selector not found.", false);
-            }
+        } else if (inStock) {
+            throw new ScrapeFailedException("Product is in stock but price selector not found.", false);
         }
 
         return ScrapedProduct.builder()
-                .productName(productName.trim())
+                .productName(title.text().trim())
                 .price(price)
                 .currency("TRY")
-                .shopName("Amazon")
+                .shopName(getShopName())
                 .inStock(inStock)
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -20,9 +20,9 @@ import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -31,6 +31,15 @@ import java.math.BigDecimal;
 @Component
 public class HepsiburadaScrapingStrategy implements ScrapingStrategy {
 
+    private static final String[] PRICE_SELECTORS = {
+            "[data-test-id='checkout-price'] div:nth-child(2)",
+            "[data-test-id='non-premium-price'] b",
+            "[data-test-id='default-price'] span",
+            "[data-test-id='price-current-price']"
+    };
+
+    private static final String SOLD_OUT_SELECTOR = "[data-test-id=out-of-stock-button], button:contains(Gelince Haber Ver)";
+
     @Override
     public boolean canScrape(
             String url
@@ -39,45 +48,50 @@ public class HepsiburadaScrapingStrategy implements ScrapingStrategy {
     }
 
     @Override
-    public ScrapedProduct scrape(
-            Page page
+    public String getShopName() {
+        return "Hepsiburada";
+    }
+
+    @Override
+    public String getReadySelector() {
+        // the price renders client-side after the title, so wait for it (or a sold-out marker) to be visible
+        return String.join(", ", PRICE_SELECTORS) + ", [data-test-id='out-of-stock-button'], button:has-text('Gelince Haber Ver')";
+    }
+
+    @Override
+    public ScrapedProduct extract(
+            Document document
     ) {
 
         try {
-            String title = page.title().toLowerCase();
+            String title = document.title().toLowerCase();
             if (title.contains("sayfa bulunamadı") || title.contains("böyle bir ürün yok")) {
                 throw new ResourceNotFoundException("Hepsiburada Product", "page", "Page Not Found");
             }
-            try {
-                page.waitForSelector("h1", new Page.WaitForSelectorOptions().setTimeout(15000));
-            } catch (TimeoutError e) {
-                throw new ScrapeFailedException("Timeout waiting for product title. Site might be slow or blocking.", true);
-            }
 
-            String productName;
-            if (page.locator("h1[data-test-id='title']").isVisible()) {
-                productName = page.locator("h1[data-test-id='title']").innerText();
-            } else if (page.locator("h1").isVisible()) {
-                productName = page.locator("h1").first().innerText();
-            } else {
-                throw new ScrapeFailedException("Product title selector not visible.", false);
+            Element heading = document.selectFirst("h1[data-test-id=title]");
+            if (heading == null) {
+                heading = document.selectFirst("h1");
+            }
+            if (heading == null) {
+                throw new ScrapeFailedException("Product title selector not found.", false);
             }
 
-            boolean inStock = !page.locator("[data-test-id='out-of-stock-button']").isVisible() &&
-                    !page.locator("button:has-text('Gelince Haber Ver')").isVisible();
+            Element product = ScrapingStrategy.productScope(heading, String.join(", ", PRICE_SELECTORS) + ", " + SOLD_OUT_SELECTOR);
+            boolean inStock = product.selectFirst(SOLD_OUT_SELECTOR) == null;
 
-            BigDecimal price = tryCustomSelectors(page);
+            BigDecimal price = tryCustomSelectors(product);
 
             if (inStock && price.compareTo(BigDecimal.ZERO) == 0) {
                 throw new ScrapeFailedException("Product is in stock but price could not be parsed.", false);
             }
 
             return ScrapedProduct.builder()
-                    .productName(productName.trim())
+                    .productName(heading.text().trim())
                     .price(price)
                     .currency("TRY")
-                    .shopName("Hepsiburada")
-                    .inStock(true)
+                    .shopName(getShopName())
+                    .inStock(inStock)
                     .build();
         } catch (ResourceNotFoundException | ScrapeFailedException e) {
             throw e;
@@ -87,26 +101,16 @@ public class HepsiburadaScrapingStrategy implements ScrapingStrategy {
     }
 
     private BigDecimal tryCustomSelectors(
-            Page page
+            Element product
     ) {
 
-        String[] selectors = {
-                "[data-test-id='checkout-price'] div:nth-child(2)",
-                "[data-test-id='non-premium-price'] b",
-                "[data-test-id='default-price'] span",
-                "[data-test-id='price-current-price']"
-        };
-
-        for (String selector : selectors) {
-            if (page.locator(selector).first().isVisible()) {
-                try {
-                    String rawText = page.locator(selector).first().innerText();
-                    BigDecimal parsedPrice = parsePrice(rawText);
-                    if (parsedPrice.compareTo(BigDecimal.ZERO) > 0) {
-                        return parsedPrice;
-                    }
-                } catch (Exception e) {
-                    log.warn("Failed to parse price with selector: {}", selector);
+        for (String selector : PRICE_SELECTORS) {
+            Element priceElement = product.selectFirst(selector);
+            if (priceElement != null) {
+                // wholeText keeps the line breaks parsePrice splits on, like innerText does
+                BigDecimal parsedPrice = parsePrice(priceElement.wholeText().strip());
+                if (parsedPrice.compareTo(BigDecimal.ZERO) > 0) {
+                    return parsedPrice;
                 }
             }
         }
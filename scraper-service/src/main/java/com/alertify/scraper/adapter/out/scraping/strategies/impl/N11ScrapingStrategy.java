@@ -20,10 +20,9 @@ import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
 import lombok.extern.slf4j.Slf4j;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -34,6 +33,16 @@ import java.util.regex.Pattern;
 @Component
 public class N11ScrapingStrategy implements ScrapingStrategy {
 
+    private static final String[] META_PRICE_SELECTORS = {
+            "meta[property='product:price:amount']",
+            "meta[property='og:price:amount']",
+            "meta[name='twitter:data1']"
+    };
+
+    private static final String SOLD_OUT_SELECTOR = ".outOfStock, *:matchesOwn(^\\s*Tükendi\\s*$), a.btn-grey";
+
+    private static final Pattern JSON_LD_PRICE = Pattern.compile("\"price\"\\s*:\\s*\"([0-9.,]+)\"");
+
     @Override
     public boolean canScrape(
             String url
@@ -42,94 +51,79 @@ public class N11ScrapingStrategy implements ScrapingStrategy {
     }
 
     @Override
-    public ScrapedProduct scrape(
-            Page page
+    public String getShopName() {
+        return "N11";
+    }
+
+    @Override
+    public String getReadySelector() {
+        // the price renders client-side after the title, so wait for it (or a sold-out marker) to be visible
+        return ".newPrice ins, .priceContainer .newPrice, .outOfStock, a.btn-grey";
+    }
+
+    @Override
+    public ScrapedProduct extract(
+            Document document
     ) {
 
-        String title = page.title().toLowerCase();
+        String title = document.title().toLowerCase();
         if (title.contains("sayfa bulunamadı") || title.contains("404")) {
             throw new ResourceNotFoundException("N11 Product", "page", "Page Not Found");
         }
 
-        try {
-            page.waitForSelector("h1", new Page.WaitForSelectorOptions().setTimeout(15000));
-        } catch (TimeoutError e) {
-            throw new ScrapeFailedException("Timeout waiting for N11 product title. Verification/Captcha required?", true);
+        Element heading = document.selectFirst("h1.proName, h1.title");
+        if (heading == null) {
+            heading = document.selectFirst("h1");
         }
-
-        String productName;
-        if (page.locator("h1.proName").isVisible()) {
-            productName = page.locator("h1.proName").first().innerText();
-        } else if (page.locator("h1.title").isVisible()) {
-            productName = page.locator("h1.title").first().innerText();
-        } else if (page.locator("h1").isVisible()) {
-            productName = page.locator("h1").first().innerText();
-        } else {
-            throw new ScrapeFailedException("Product title selector not visible on N11.", false);
+        if (heading == null) {
+            throw new ScrapeFailedException("Product title selector not found on N11.", false);
         }
 
-        boolean inStock = !page.locator(".outOfStock").isVisible() &&
-                !page.locator("text='Tükendi'").isVisible() &&
-                !page.locator("a.btn-grey").isVisible();
+        Element product = ScrapingStrategy.productScope(heading, ".newPrice, .priceContainer, " + SOLD_OUT_SELECTOR);
+        boolean inStock = product.selectFirst(SOLD_OUT_SELECTOR) == null;
 
-        BigDecimal price = findPriceGuaranteed(page);
+        BigDecimal price = findPriceGuaranteed(document, product);
 
         if (inStock && price.compareTo(BigDecimal.ZERO) == 0) {
             throw new ScrapeFailedException("Product is in stock but price could not be parsed.", false);
         }
 
         return ScrapedProduct.builder()
-                .productName(productName.trim())
+                .productName(heading.text().trim())
                 .price(price)
                 .currency("TRY")
-                .shopName("N11")
+                .shopName(getShopName())
                 .inStock(inStock)
                 .build();
     }
 
     private BigDecimal findPriceGuaranteed(
-            Page page
+            Document document,
+            Element product
     ) {
 
-        String[] metaSelectors = {
-                "meta[property='product:price:amount']",
-                "meta[property='og:price:amount']",
-                "meta[name='twitter:data1']"
-        };
-
-        for (String meta : metaSelectors) {
-            if (page.locator(meta).count() > 0) {
-                String content = page.locator(meta).first().getAttribute("content");
-                if (content != null && !content.isEmpty()) {
-                    return parsePrice(content);
-                }
+        for (String meta : META_PRICE_SELECTORS) {
+            Element element = document.selectFirst(meta);
+            if (element != null && !element.attr("content").isEmpty()) {
+                return parsePrice(element.attr("content"));
             }
         }
 
-        try {
-            String scriptContent = page.locator("script[type='application/ld+json']").first().textContent();
-            if (scriptContent.contains("\"price\"")) {
-                Pattern p = Pattern.compile("\"price\"\\s*:\\s*\"([0-9.,]+)\"");
-                Matcher m = p.matcher(scriptContent);
-                if (m.find()) {
-                    return parsePrice(m.group(1));
-                }
+        Element script = document.selectFirst("script[type=application/ld+json]");
+        if (script != null) {
+            Matcher m = JSON_LD_PRICE.matcher(script.data());
+            if (m.find()) {
+                return parsePrice(m.group(1));
             }
-        } catch (Exception e) {
-            log.warn("JSON-LD parsing failed for N11: {}", e.getMessage());
         }
 
-        Locator priceContainer = page.locator(".newPrice ins").first();
-
-        if (!priceContainer.isVisible()) {
-            priceContainer = page.locator(".priceContainer .newPrice").first();
+        // meta tags and JSON-LD describe the page's own product, the rendered price has to come from its buy box
+        Element priceContainer = product.selectFirst(".newPrice ins");
+        if (priceContainer == null) {
+            priceContainer = product.selectFirst(".priceContainer .newPrice");
         }
-
-        if (priceContainer.isVisible()) {
-            String text = priceContainer.innerText().trim();
-            if (!text.isEmpty()) {
-                return parsePrice(text);
-            }
+        if (priceContainer != null && !priceContainer.text().isBlank()) {
+            return parsePrice(priceContainer.text().trim());
         }
 
         return BigDecimal.ZERO;
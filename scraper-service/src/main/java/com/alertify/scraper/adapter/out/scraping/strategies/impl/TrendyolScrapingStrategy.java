@@ -20,9 +20,8 @@ import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
 import com.alertify.scraper.adapter.out.scraping.strategies.ScrapingStrategy;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
@@ -30,6 +29,14 @@ import java.math.BigDecimal;
 @Component
 public class TrendyolScrapingStrategy implements ScrapingStrategy {
 
+    private static final String[] PRICE_SELECTORS = {
+            ".discounted",
+            ".ty-plus-price-discounted-price",
+            ".new-price"
+    };
+
+    private static final String SOLD_OUT_SELECTOR = ".sold-out-icon, *:matchesOwn(^\\s*Tükendi\\s*$), button:contains(Gelince Haber Ver)";
+
     @Override
     public boolean canScrape(
             String url
@@ -38,46 +45,50 @@ public class TrendyolScrapingStrategy implements ScrapingStrategy {
     }
 
     @Override
-    public ScrapedProduct scrape(
-            Page page
+    public String getShopName() {
+        return "Trendyol";
+    }
+
+    @Override
+    public String getReadySelector() {
+        // the price renders client-side after the title, so wait for it (or a sold-out marker) to be visible
+        return ".price-wrapper .discounted, .price-wrapper .ty-plus-price-discounted-price, .price-wrapper .new-price, "
+                + ".sold-out-icon, button:has-text('Gelince Haber Ver')";
+    }
+
+    @Override
+    public ScrapedProduct extract(
+            Document document
     ) {
 
         try {
-            String title = page.title().toLowerCase();
+            String title = document.title().toLowerCase();
             if (title.contains("sayfa bulunamadı") || title.contains("aradığınız sayfayı bulamadık")) {
                 throw new ResourceNotFoundException("Trendyol Product", "page", "Page Not Found");
             }
 
-            try {
-                page.waitForSelector("h1", new Page.WaitForSelectorOptions().setTimeout(15000));
-            } catch (TimeoutError e) {
-                throw new ScrapeFailedException("Timeout waiting for Trendyol product title. Network or blocking issue.", true);
+            Element heading = document.selectFirst("h1.pr-new-br");
+            if (heading == null) {
+                heading = document.selectFirst("h1");
             }
-
-            String productName;
-            if (page.locator("h1.pr-new-br").isVisible()) {
-                productName = page.locator("h1.pr-new-br").first().innerText(); // Marka + İsim
-            } else if (page.locator("h1").isVisible()) {
-                productName = page.locator("h1").first().innerText();
-            } else {
-                throw new ScrapeFailedException("Product title selector not visible on Trendyol.", false);
+            if (heading == null) {
+                throw new ScrapeFailedException("Product title selector not found on Trendyol.", false);
             }
 
-            boolean inStock = !page.locator(".sold-out-icon").isVisible() &&
-                    !page.locator("text='Tükendi'").isVisible() &&
-                    !page.locator("button:has-text('Gelince Haber Ver')").isVisible();
+            Element product = ScrapingStrategy.productScope(heading, ".price-wrapper, " + SOLD_OUT_SELECTOR);
+            boolean inStock = product.selectFirst(SOLD_OUT_SELECTOR) == null;
 
-            BigDecimal price = tryCssSelectors(page.locator(".price-wrapper").first());
+            BigDecimal price = tryCssSelectors(product.selectFirst(".price-wrapper"));
 
             if (inStock && price.compareTo(BigDecimal.ZERO) == 0) {
                 throw new ScrapeFailedException("Product is in stock but price could not be parsed.", false);
             }
 
             return ScrapedProduct.builder()
-                    .productName(productName)
+                    .productName(heading.text())
                     .price(price)
                     .currency("TRY")
-                    .shopName("Trendyol")
+                    .shopName(getShopName())
                     .inStock(inStock)
                     .build();
 
@@ -89,19 +100,17 @@ public class TrendyolScrapingStrategy implements ScrapingStrategy {
     }
 
     private BigDecimal tryCssSelectors(
-            Locator priceWrapper
+            Element priceWrapper
     ) {
 
-        String[] selectors = {
-                ".discounted",
-                ".ty-plus-price-discounted-price",
-                ".new-price"
-        };
+        if (priceWrapper == null) {
+            return BigDecimal.ZERO;
+        }
 
-        for (String selector : selectors) {
-            if (priceWrapper.locator(selector).count() > 0) {
-                String rawText = priceWrapper.locator(selector).first().textContent();
-                BigDecimal result = parsePrice(rawText);
+        for (String selector : PRICE_SELECTORS) {
+            Element priceElement = priceWrapper.selectFirst(selector);
+            if (priceElement != null) {
+                BigDecimal result = parsePrice(priceElement.text());
                 if (result.compareTo(BigDecimal.ZERO) > 0) {
                     return result;
                 }
@@ -16,22 +16,93 @@
 
 package com.alertify.scraper.application.service;
 
+import com.alertify.common.exception.ScrapeFailedException;
+import com.alertify.common.url.UrlCanonicalizer;
 import com.alertify.scraper.application.port.in.ScrapeUseCase;
 import com.alertify.scraper.application.port.out.ScraperPort;
 import com.alertify.scraper.domain.model.ScrapedProduct;
+import com.github.benmanes.caffeine.cache.Cache;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ScraperService implements ScrapeUseCase {
 
     private final ScraperPort port;
+    private final Cache<String, ScrapedProduct> resultCache;
+    private final Map<String, CompletableFuture<ScrapedProduct>> inFlight = new ConcurrentHashMap<>();
+
+    // upper bound of one whole scrape (rate wait, browser acquire, navigation, render), after which followers give up
+    @Value("${alertify.scraper.scrape-timeout-ms:120000}")
+    private long scrapeTimeoutMs;
 
     @Override
     public ScrapedProduct getScrapedProduct(
             String url
     ) {
-        return port.fetchProduct(url);
+
+        String key = UrlCanonicalizer.canonicalize(url);
+        ScrapedProduct cached = resultCache.getIfPresent(key);
+        if (cached != null) {
+            log.debug("Serving cached scrape result for URL: {}", key);
+            return cached;
+        }
+
+        CompletableFuture<ScrapedProduct> flight = new CompletableFuture<>();
+        CompletableFuture<ScrapedProduct> existing = inFlight.putIfAbsent(key, flight);
+
+        if (existing != null) {
+            log.debug("Joining in-flight scrape for URL: {}", key);
+            return await(existing);
+        }
+
+        try {
+            // a flight that finished between the cache miss and putIfAbsent has already cached its result
+            ScrapedProduct justScraped = resultCache.getIfPresent(key);
+            if (justScraped != null) {
+                flight.complete(justScraped);
+                return justScraped;
+            }
+
+            ScrapedProduct product = port.fetchProduct(url);
+            resultCache.put(key, product);
+            flight.complete(product);
+            return product;
+        } catch (RuntimeException e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private ScrapedProduct await(
+            CompletableFuture<ScrapedProduct> flight
+    ) {
+
+        try {
+            return flight.get(scrapeTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ScrapeFailedException("Shared scrape failed: " + e.getCause().getMessage(), true);
+        } catch (TimeoutException e) {
+            throw new ScrapeFailedException("Timed out waiting for a shared scrape after " + scrapeTimeoutMs + " ms", true);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ScrapeFailedException("Interrupted while waiting for a shared scrape", true);
+        }
     }
 }
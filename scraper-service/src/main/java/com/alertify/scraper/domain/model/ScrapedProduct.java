@@ -20,6 +20,7 @@ import lombok.Builder;
 import lombok.Data;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 
 @Data
 @Builder
@@ -31,4 +32,5 @@ public class ScrapedProduct {
     private String imageUrl;
     private Boolean inStock;
     private String shopName;
+    private Instant scrapedAt;
 }
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.infrastructure.config;
+
+import com.alertify.scraper.domain.model.ScrapedProduct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResultCacheConfig {
+
+    @Value("${alertify.scraper.result-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alertify.scraper.result-cache.ttl-minutes:10}")
+    private long ttlMinutes;
+
+    @Value("${alertify.scraper.result-cache.max-size:10000}")
+    private long maxSize;
+
+    @Bean
+    public Cache<String, ScrapedProduct> scrapeResultCache(
+            MeterRegistry meterRegistry
+    ) {
+
+        Cache<String, ScrapedProduct> cache = Caffeine.newBuilder()
+                .maximumSize(enabled ? maxSize : 0)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+
+        // exposes cache.gets{result=hit|miss}, cache.evictions and cache.size tagged cache=scrape-results
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "scrape-results");
+    }
+}
@@ -20,7 +20,8 @@ import com.alertify.common.event.PriceScrapeCompletedEvent;
 import com.alertify.common.event.ScrapeRequestEvent;
 import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
-import com.alertify.scraper.application.port.out.ScraperPort;
+import com.alertify.common.infrastructure.config.RabbitMQConfig;
+import com.alertify.scraper.application.port.in.ScrapeUseCase;
 import com.alertify.scraper.domain.model.ScrapedProduct;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -29,10 +30,16 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.AmqpRejectAndDontRequeueException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessagePostProcessor;
+import org.springframework.amqp.core.MessageProperties;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -46,13 +53,14 @@ public class ScrapeRequestConsumerTest {
     private ScrapeRequestConsumer consumer;
 
     @Mock
-    private ScraperPort port;
+    private ScrapeUseCase useCase;
 
     @Mock
     private RabbitTemplate rabbitTemplate;
 
     private final String EXCHANGE = "scrape.exchange";
     private final String ROUTING_KEY = "scrape.completed.key";
+    private final String REQUEST_ROUTING_KEY = "scrape.key";
 
     private ScrapeRequestEvent validEvent;
     private UUID testUuid;
@@ -62,6 +70,7 @@ public class ScrapeRequestConsumerTest {
 
         ReflectionTestUtils.setField(consumer, "exchange", EXCHANGE);
         ReflectionTestUtils.setField(consumer, "completedRoutingKey", ROUTING_KEY);
+        ReflectionTestUtils.setField(consumer, "retryDelaysMs", List.of(5000L, 30000L));
 
         testUuid = UUID.randomUUID();
         validEvent = new ScrapeRequestEvent(testUuid, "https://amazon.com/example-product");
@@ -77,8 +86,8 @@ public class ScrapeRequestConsumerTest {
                 .inStock(true)
                 .build();
 
-        when(port.fetchProduct(validEvent.getUrl())).thenReturn(scrapedProduct);
-        consumer.consumeMessage(validEvent);
+        when(useCase.getScrapedProduct(validEvent.getUrl())).thenReturn(scrapedProduct);
+        consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, null);
 
         ArgumentCaptor<PriceScrapeCompletedEvent> captor = ArgumentCaptor.forClass(PriceScrapeCompletedEvent.class);
 
@@ -96,33 +105,68 @@ public class ScrapeRequestConsumerTest {
         assertNotNull(event.getCheckedAt(), "CheckedAt timestamp should not be null");
     }
 
+    @Test
+    void should_Publish_The_Time_The_Page_Was_Scraped() {
+
+        Instant scrapedAt = Instant.now().minusSeconds(300);
+        ScrapedProduct cachedProduct = ScrapedProduct.builder()
+                .productName("iPhone 15")
+                .price(new BigDecimal("50000"))
+                .currency("TRY")
+                .inStock(true)
+                .scrapedAt(scrapedAt)
+                .build();
+
+        when(useCase.getScrapedProduct(validEvent.getUrl())).thenReturn(cachedProduct);
+        consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, null);
+
+        ArgumentCaptor<PriceScrapeCompletedEvent> captor = ArgumentCaptor.forClass(PriceScrapeCompletedEvent.class);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY), captor.capture());
+        assertEquals(scrapedAt, captor.getValue().getCheckedAt());
+    }
+
     @Test
     void should_Not_Retry_When_ResourceNotFoundException_Occurs() {
 
         doThrow(new ResourceNotFoundException("Product", "id", "404"))
-                .when(port).fetchProduct(validEvent.getUrl());
-        assertDoesNotThrow(() -> consumer.consumeMessage(validEvent));
+                .when(useCase).getScrapedProduct(validEvent.getUrl());
+        assertDoesNotThrow(() -> consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, null));
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+    }
+
+    @Test
+    void should_Park_Message_In_Retry_Queue_When_ScrapeFailed() {
+
+        doThrow(new ScrapeFailedException("Timeout", true))
+                .when(useCase).getScrapedProduct(validEvent.getUrl());
+        assertDoesNotThrow(() -> consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, 1));
+
+        ArgumentCaptor<MessagePostProcessor> captor = ArgumentCaptor.forClass(MessagePostProcessor.class);
+        verify(rabbitTemplate).convertAndSend(eq("scrape.retry.2"), eq(REQUEST_ROUTING_KEY), eq(validEvent), captor.capture());
+
+        Message message = captor.getValue().postProcessMessage(new Message(new byte[0], new MessageProperties()));
+        assertEquals(2, (Integer) message.getMessageProperties().getHeader(RabbitMQConfig.RETRY_ATTEMPT_HEADER));
         verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
     }
 
     @Test
-    void should_Throw_Exception_To_Trigger_Retry_When_ScrapeFailed() {
+    void should_Reject_To_DLQ_When_Retries_Exhausted() {
 
-        doThrow(new ScrapeFailedException("Timeout"))
-                .when(port).fetchProduct(validEvent.getUrl());
+        doThrow(new ScrapeFailedException("Timeout", true))
+                .when(useCase).getScrapedProduct(validEvent.getUrl());
         assertThrows(
-                ScrapeFailedException.class,
-                () -> consumer.consumeMessage(validEvent)
+                AmqpRejectAndDontRequeueException.class,
+                () -> consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, 2)
         );
-        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class));
+        verify(rabbitTemplate, never()).convertAndSend(anyString(), anyString(), any(Object.class), any(MessagePostProcessor.class));
     }
 
     @Test
     void should_Throw_RuntimeException_On_Unexpected_Error() {
 
         doThrow(new RuntimeException("Unexpected Bug"))
-                .when(port).fetchProduct(validEvent.getUrl());
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> consumer.consumeMessage(validEvent));
+                .when(useCase).getScrapedProduct(validEvent.getUrl());
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> consumer.consumeMessage(validEvent, REQUEST_ROUTING_KEY, null));
         assertEquals("Unexpected scraper error", exception.getMessage());
     }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping;
+
+import com.alertify.scraper.domain.model.ScrapedProduct;
+import org.jsoup.Jsoup;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaticProductExtractorTest {
+
+    private final StaticProductExtractor extractor = new StaticProductExtractor();
+
+    @Test
+    void should_Extract_Product_From_JsonLd() {
+
+        String html = """
+                <html><head>
+                <script type="application/ld+json">
+                {"@context": "https://schema.org", "@type": "Product", "name": "Mavi Jeans Kazak",
+                 "offers": {"@type": "Offer", "price": "1299.90", "priceCurrency": "TRY",
+                            "availability": "https://schema.org/InStock"}}
+                </script>
+                </head><body><h1>Ignored</h1></body></html>
+                """;
+
+        Optional<ScrapedProduct> result = extractor.extract(Jsoup.parse(html), "Trendyol");
+
+        assertTrue(result.isPresent());
+        assertEquals("Mavi Jeans Kazak", result.get().getProductName());
+        assertEquals(new BigDecimal("1299.90"), result.get().getPrice());
+        assertEquals("TRY", result.get().getCurrency());
+        assertEquals("Trendyol", result.get().getShopName());
+        assertTrue(result.get().getInStock());
+    }
+
+    @Test
+    void should_Find_Product_Inside_Graph_With_Offer_Array() {
+
+        String html = """
+                <script type="application/ld+json">
+                {"@graph": [{"@type": "BreadcrumbList"},
+                            {"@type": ["Product"], "name": "Laptop",
+                             "offers": [{"price": 25000, "availability": "OutOfStock"}]}]}
+                </script>
+                """;
+
+        Optional<ScrapedProduct> result = extractor.extract(Jsoup.parse(html), "N11");
+
+        assertTrue(result.isPresent());
+        assertEquals(new BigDecimal("25000"), result.get().getPrice());
+        assertFalse(result.get().getInStock());
+    }
+
+    @Test
+    void should_Fall_Back_To_Meta_Tags() {
+
+        String html = """
+                <html><head>
+                <meta property="og:title" content="Tablet">
+                <meta property="product:price:amount" content="5.000,50">
+                <meta property="product:availability" content="in stock">
+                </head></html>
+                """;
+
+        Optional<ScrapedProduct> result = extractor.extract(Jsoup.parse(html), "N11");
+
+        assertTrue(result.isPresent());
+        assertEquals("Tablet", result.get().getProductName());
+        assertEquals(new BigDecimal("5000.50"), result.get().getPrice());
+    }
+
+    @Test
+    void should_Return_Empty_When_Availability_Unknown() {
+
+        String html = """
+                <html><head><meta property="product:price:amount" content="100"></head>
+                <body><h1>Client Rendered</h1></body></html>
+                """;
+
+        assertTrue(extractor.extract(Jsoup.parse(html), "Hepsiburada").isEmpty(),
+                "Without stock information the browser has to decide");
+    }
+
+    @Test
+    void should_Return_Empty_When_In_Stock_Without_Price() {
+
+        String html = """
+                <script type="application/ld+json">
+                {"@type": "Product", "name": "X", "offers": {"availability": "InStock"}}
+                </script>
+                """;
+
+        assertTrue(extractor.extract(Jsoup.parse(html), "Trendyol").isEmpty());
+    }
+
+    @Test
+    void should_Read_Structured_Prices_With_Dot_Decimal() {
+
+        String html = """
+                <script type="application/ld+json">
+                {"@type": "Product", "name": "Kalem",
+                 "offers": {"price": "12.500", "priceCurrency": "TRY", "availability": "InStock"}}
+                </script>
+                """;
+
+        assertEquals(new BigDecimal("12.500"), extractor.extract(Jsoup.parse(html), "Trendyol").orElseThrow().getPrice());
+        assertEquals(new BigDecimal("0.999"), StaticProductExtractor.parseMachinePrice("0.999"));
+        assertEquals(new BigDecimal("1299.90"), StaticProductExtractor.parseMachinePrice("1.299,90 TL"));
+    }
+
+    @Test
+    void should_Parse_Both_Decimal_Conventions() {
+
+        assertEquals(new BigDecimal("1299.90"), StaticProductExtractor.parsePrice("1.299,90 TL"));
+        assertEquals(new BigDecimal("1299.90"), StaticProductExtractor.parsePrice("1,299.90"));
+        assertEquals(new BigDecimal("25000"), StaticProductExtractor.parsePrice("25.000"));
+        assertEquals(new BigDecimal("49.9"), StaticProductExtractor.parsePrice("49.9"));
+        assertNull(StaticProductExtractor.parsePrice("Fiyat yok"));
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BrowserPoolTest {
+
+    @Mock
+    private PooledBrowser browser;
+
+    private final BrowserPool browserPool = new BrowserPool();
+
+    @BeforeEach
+    void setUp() {
+
+        ReflectionTestUtils.setField(browserPool, "acquireTimeoutMs", 50L);
+        browserPool.start(List.of(browser));
+    }
+
+    @Test
+    void should_Fail_Transiently_When_No_Browser_Frees_Up_In_Time() {
+
+        // the only slot is busy with the outer scrape while the inner one waits for it
+        when(browser.execute(eq("Trendyol"), any())).thenAnswer(invocation -> browserPool.execute("Amazon", page -> "inner"));
+
+        ScrapeFailedException ex = assertThrows(ScrapeFailedException.class, () -> browserPool.execute("Trendyol", page -> "outer"));
+        assertTrue(ex.isTransient(), "A busy pool should be retried later");
+    }
+
+    @Test
+    void should_Return_Browser_To_Pool_When_Scrape_Fails() {
+
+        when(browser.execute(eq("Trendyol"), any()))
+                .thenThrow(new ScrapeFailedException("captcha", true))
+                .thenReturn("ok");
+
+        assertThrows(ScrapeFailedException.class, () -> browserPool.execute("Trendyol", page -> "ok"));
+
+        // would time out if the failed scrape had kept the only slot
+        assertEquals("ok", browserPool.execute("Trendyol", page -> "ok"));
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.alertify.common.exception.ResourceNotFoundException;
+import com.alertify.common.exception.ScrapeFailedException;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Playwright;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PooledBrowserTest {
+
+    @Mock
+    private Playwright playwright;
+
+    @Mock
+    private BrowserType chromium;
+
+    @Mock
+    private Browser browser;
+
+    @Mock
+    private BrowserContext browserContext;
+
+    @Mock
+    private Page page;
+
+    private PooledBrowser pooledBrowser;
+
+    @AfterEach
+    void tearDown() {
+        if (pooledBrowser != null) {
+            pooledBrowser.shutdown();
+        }
+    }
+
+    private PooledBrowser pooledBrowser(
+            int maxScrapesPerBrowser,
+            int maxPagesPerContext
+    ) {
+
+        when(playwright.chromium()).thenReturn(chromium);
+        when(chromium.launch(any())).thenReturn(browser);
+        lenient().when(browser.isConnected()).thenReturn(true);
+        when(browser.newContext(any())).thenReturn(browserContext);
+        when(browserContext.newPage()).thenReturn(page);
+
+        BrowserSettings settings = new BrowserSettings(
+                new BrowserType.LaunchOptions(),
+                new Browser.NewContextOptions(),
+                "",
+                maxScrapesPerBrowser,
+                maxPagesPerContext,
+                Duration.ofMinutes(30)
+        );
+        pooledBrowser = new PooledBrowser(0, settings, () -> playwright);
+        return pooledBrowser;
+    }
+
+    @Test
+    void should_Reuse_Context_Until_Page_Limit() {
+
+        PooledBrowser browserSlot = pooledBrowser(500, 2);
+
+        for (int scrape = 0; scrape < 3; scrape++) {
+            assertEquals("ok", browserSlot.execute("Trendyol", page -> "ok"));
+        }
+
+        // the third page found the context at its limit and got a fresh one
+        verify(browser, times(2)).newContext(any());
+        verify(browserContext).close();
+        verify(page, times(3)).close();
+    }
+
+    @Test
+    void should_Evict_Context_When_Scrape_Fails() {
+
+        PooledBrowser browserSlot = pooledBrowser(500, 50);
+
+        assertThrows(ScrapeFailedException.class, () -> browserSlot.execute("Trendyol", page -> {
+            throw new ScrapeFailedException("captcha", true);
+        }));
+        browserSlot.execute("Trendyol", page -> "ok");
+
+        verify(browserContext).close();
+        verify(browser, times(2)).newContext(any());
+    }
+
+    @Test
+    void should_Keep_Context_When_Page_Is_Not_Found() {
+
+        PooledBrowser browserSlot = pooledBrowser(500, 50);
+
+        assertThrows(ResourceNotFoundException.class, () -> browserSlot.execute("Trendyol", page -> {
+            throw new ResourceNotFoundException("Product", "page", "Page Not Found");
+        }));
+        browserSlot.execute("Trendyol", page -> "ok");
+
+        // a 404 says nothing about the session, so its cookies stay warm
+        verify(browserContext, never()).close();
+        verify(browser, times(1)).newContext(any());
+    }
+
+    @Test
+    void should_Keep_A_Context_Per_Key() {
+
+        PooledBrowser browserSlot = pooledBrowser(500, 50);
+
+        browserSlot.execute("Trendyol", page -> "ok");
+        assertThrows(ScrapeFailedException.class, () -> browserSlot.execute("Amazon", page -> {
+            throw new ScrapeFailedException("captcha", true);
+        }));
+        browserSlot.execute("Trendyol", page -> "ok");
+
+        // only the failing retailer started over
+        verify(browser, times(2)).newContext(any());
+        verify(browserContext, times(1)).close();
+    }
+
+    @Test
+    void should_Recycle_Browser_After_Max_Scrapes() {
+
+        PooledBrowser browserSlot = pooledBrowser(2, 50);
+
+        for (int scrape = 0; scrape < 3; scrape++) {
+            browserSlot.execute("Trendyol", page -> "ok");
+        }
+
+        verify(chromium, times(2)).launch(any());
+        verify(browser).close();
+        verify(playwright).close();
+    }
+
+    @Test
+    void should_Replace_Browser_That_Disconnected() {
+
+        PooledBrowser browserSlot = pooledBrowser(500, 50);
+        when(browser.isConnected()).thenReturn(false, true);
+
+        browserSlot.execute("Trendyol", page -> "ok");
+        browserSlot.execute("Trendyol", page -> "ok");
+
+        // the crashed browser is closed right after its scrape and the next one launches a new driver
+        verify(browser).close();
+        verify(chromium, times(2)).launch(any());
+    }
+
+    @Test
+    void should_Recycle_When_Disconnected_Or_Quota_Reached() {
+
+        assertTrue(PooledBrowser.shouldRecycle(false, 0, 500));
+        assertTrue(PooledBrowser.shouldRecycle(true, 500, 500));
+        assertFalse(PooledBrowser.shouldRecycle(true, 499, 500));
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.browser;
+
+import com.microsoft.playwright.BrowserContext;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class WarmContextTest {
+
+    @Mock
+    private BrowserContext browserContext;
+
+    @Test
+    void should_Expire_When_Page_Count_Reaches_Limit() {
+
+        WarmContext context = new WarmContext(browserContext);
+
+        context.newPage();
+        assertFalse(context.isExpired(2, Duration.ofMinutes(30)));
+
+        context.newPage();
+        assertTrue(context.isExpired(2, Duration.ofMinutes(30)));
+        verify(browserContext, times(2)).newPage();
+    }
+
+    @Test
+    void should_Expire_When_Older_Than_Max_Age() {
+
+        WarmContext fresh = new WarmContext(browserContext, Instant.now().minus(Duration.ofMinutes(29)));
+        WarmContext stale = new WarmContext(browserContext, Instant.now().minus(Duration.ofMinutes(31)));
+
+        assertFalse(fresh.isExpired(50, Duration.ofMinutes(30)));
+        assertTrue(stale.isExpired(50, Duration.ofMinutes(30)));
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.adapter.out.scraping.governor;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateGovernorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateGovernor governor(
+            RateGovernorProperties.DomainLimit limit
+    ) {
+        return new RateGovernor(
+                new RateGovernorProperties(true, 50, new RateGovernorProperties.DomainLimit(100, 10, 10), Map.of("Amazon", limit)),
+                meterRegistry
+        );
+    }
+
+    @Test
+    void should_Allow_Burst_Then_Reject_When_Bucket_Empty() {
+
+        RateGovernor governor = governor(new RateGovernorProperties.DomainLimit(0.1, 2, 5));
+
+        assertEquals("ok", governor.execute("Amazon", () -> "ok"));
+        assertEquals("ok", governor.execute("Amazon", () -> "ok"));
+
+        ScrapeFailedException ex = assertThrows(ScrapeFailedException.class, () -> governor.execute("Amazon", () -> "ok"));
+        assertTrue(ex.isTransient(), "Rate limited requests should be retried later");
+    }
+
+    @Test
+    void should_Keep_Shops_Independent() {
+
+        RateGovernor governor = governor(new RateGovernorProperties.DomainLimit(0.1, 1, 1));
+
+        governor.execute("Amazon", () -> "ok");
+
+        assertEquals("ok", governor.execute("Trendyol", () -> "ok"));
+        assertThrows(ScrapeFailedException.class, () -> governor.execute("Amazon", () -> "ok"));
+    }
+
+    @Test
+    void should_Limit_Concurrent_Scrapes_And_Report_Gauges() throws Exception {
+
+        RateGovernor governor = governor(new RateGovernorProperties.DomainLimit(100, 10, 1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(() -> governor.execute("Amazon", () -> {
+                started.countDown();
+                try {
+                    finish.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }));
+            assertTrue(started.await(1, TimeUnit.SECONDS));
+
+            assertThrows(ScrapeFailedException.class, () -> governor.execute("Amazon", () -> "ok"));
+            assertEquals(1.0, meterRegistry.get("alertify.scraper.governor.active").tag("shop", "Amazon").gauge().value());
+            assertEquals(0.0, meterRegistry.get("alertify.scraper.governor.slots.available").tag("shop", "Amazon").gauge().value());
+        } finally {
+            finish.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void should_Reject_Non_Positive_Rates_At_Binding() {
+
+        assertThrows(IllegalArgumentException.class, () -> new RateGovernorProperties.DomainLimit(0, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new RateGovernorProperties.DomainLimit(-1, 2, 2));
+        assertThrows(IllegalArgumentException.class, () -> new RateGovernorProperties.DomainLimit(Double.NaN, 2, 2));
+    }
+}
@@ -18,51 +18,30 @@ package com.alertify.scraper.adapter.out.scraping.strategies.impl;
 
 import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
-import com.alertify.scraper.adapter.out.scraping.strategies.BaseStrategyTest;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.lenient;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
-class HepsiburadaScrapingStrategyTest extends BaseStrategyTest {
+class HepsiburadaScrapingStrategyTest {
 
-    @InjectMocks
-    private HepsiburadaScrapingStrategy strategy;
+    private final HepsiburadaScrapingStrategy strategy = new HepsiburadaScrapingStrategy();
 
     @Test
     void should_Scrape_Correctly_When_Primary_Price_Selector_Works() {
 
-        // mocking page title
-        when(page.title()).thenReturn("Hepsiburada: Laptop");
+        Document document = Jsoup.parse("""
+                <html><head><title>Hepsiburada: Laptop</title></head><body>
+                <h1 data-test-id="title">Asus Gaming Laptop</h1>
+                <div data-test-id="checkout-price"><div>Sepette</div><div>25.000 TL</div></div>
+                </body></html>
+                """);
 
-        Locator titleLoc = mock(Locator.class);
-        when(titleLoc.isVisible()).thenReturn(true);
-        when(titleLoc.innerText()).thenReturn("Asus Gaming Laptop");
-        when(page.locator("h1[data-test-id='title']")).thenReturn(titleLoc);
-
-        // mocking price
-        Locator priceLoc = mock(Locator.class);
-        when(priceLoc.first()).thenReturn(priceLoc);
-        when(priceLoc.isVisible()).thenReturn(true);
-        when(priceLoc.innerText()).thenReturn("25.000 TL");
-
-        when(page.locator("[data-test-id='checkout-price'] div:nth-child(2)")).thenReturn(priceLoc);
-
-        ScrapedProduct result = strategy.scrape(page);
+        ScrapedProduct result = strategy.extract(document);
 
         assertNotNull(result);
         assertEquals("Asus Gaming Laptop", result.getProductName());
@@ -73,34 +52,15 @@ class HepsiburadaScrapingStrategyTest extends BaseStrategyTest {
     @Test
     void should_Scrape_Using_Fallback_Selector_When_Primary_Fails() {
 
-        when(page.title()).thenReturn("HB Ürün");
-
-        Locator mainTitleLoc = mock(Locator.class);
-        lenient().when(mainTitleLoc.isVisible()).thenReturn(false);
-        when(page.locator("h1[data-test-id='title']")).thenReturn(mainTitleLoc);
-
-        // Fallback Title Selector works
-        Locator fallbackTitleLoc = mock(Locator.class);
-        when(fallbackTitleLoc.first()).thenReturn(fallbackTitleLoc);
-        when(fallbackTitleLoc.isVisible()).thenReturn(true);
-        when(fallbackTitleLoc.innerText()).thenReturn("Secondary Title");
-        when(page.locator("h1")).thenReturn(fallbackTitleLoc);
-
-
-        // primary price selector FAILS
-        Locator priceLoc1 = mock(Locator.class);
-        lenient().when(priceLoc1.first()).thenReturn(priceLoc1);
-        lenient().when(priceLoc1.isVisible()).thenReturn(false);
-        lenient().when(page.locator("[data-test-id='checkout-price'] div:nth-child(2)")).thenReturn(priceLoc1);
-
-        // secondary price selector works
-        Locator priceLoc2 = mock(Locator.class);
-        when(priceLoc2.first()).thenReturn(priceLoc2);
-        when(priceLoc2.isVisible()).thenReturn(true);
-        when(priceLoc2.innerText()).thenReturn("10.500,50 TL");
-        when(page.locator("[data-test-id='non-premium-price'] b")).thenReturn(priceLoc2);
+        // no titled heading and no checkout price, so both lookups fall through to the next selector
+        Document document = Jsoup.parse("""
+                <html><head><title>HB Ürün</title></head><body>
+                <h1>Secondary Title</h1>
+                <div data-test-id="non-premium-price"><b>10.500,50 TL</b></div>
+                </body></html>
+                """);
 
-        ScrapedProduct result = strategy.scrape(page);
+        ScrapedProduct result = strategy.extract(document);
 
         assertEquals("Secondary Title", result.getProductName());
         assertEquals(new BigDecimal("10500.50"), result.getPrice());
@@ -109,45 +69,77 @@ class HepsiburadaScrapingStrategyTest extends BaseStrategyTest {
     @Test
     void should_Throw_ResourceNotFound_When_Page_Is_404() {
 
-        when(page.title()).thenReturn("Sayfa Bulunamadı - Hepsiburada");
-        assertThrows(ResourceNotFoundException.class, () -> strategy.scrape(page));
+        Document document = Jsoup.parse("<html><head><title>Sayfa Bulunamadı - Hepsiburada</title></head></html>");
+        assertThrows(ResourceNotFoundException.class, () -> strategy.extract(document));
     }
 
     @Test
-    void should_Throw_ScrapeFailed_When_Timeout_Occurs() {
+    void should_Throw_ScrapeFailed_When_Title_Missing() {
 
-        when(page.title()).thenReturn("Normal Title");
-
-        // simulate Timeout
-        when(page.waitForSelector(anyString(), any(Page.WaitForSelectorOptions.class)))
-                .thenThrow(new TimeoutError("Timeout!"));
-        assertThrows(ScrapeFailedException.class, () -> strategy.scrape(page));
+        Document document = Jsoup.parse("<html><head><title>Normal Title</title></head><body><div></div></body></html>");
+        assertThrows(ScrapeFailedException.class, () -> strategy.extract(document));
     }
 
     @Test
     void should_Handle_Messy_Price_Format() {
 
-        when(page.title()).thenReturn("HB");
-        mockTextContent("h1[data-test-id='title']", "Test Product");
-
-        // messy Price format
-        Locator priceLoc = mock(Locator.class);
-        when(priceLoc.first()).thenReturn(priceLoc);
-        when(priceLoc.isVisible()).thenReturn(true);
-        when(priceLoc.innerText()).thenReturn(" 1.299,90 TL \n (KDV Dahil) ");
+        Document document = Jsoup.parse("""
+                <html><body><h1 data-test-id="title">Test Product</h1>
+                <div data-test-id="checkout-price"><div>Sepette</div><div> 1.299,90 TL
+                 (KDV Dahil) </div></div></body></html>
+                """);
 
-        when(page.locator("[data-test-id='checkout-price'] div:nth-child(2)")).thenReturn(priceLoc);
-
-        ScrapedProduct result = strategy.scrape(page);
+        ScrapedProduct result = strategy.extract(document);
         assertEquals(new BigDecimal("1299.90"), result.getPrice());
     }
 
     @Test
     void should_Throw_Exception_When_InStock_But_Price_Zero() {
 
-        when(page.title()).thenReturn("HB");
-        mockTextContent("h1[data-test-id='title']", "Stokta Var Ama Fiyat Yok");
-        assertThrows(ScrapeFailedException.class, () -> strategy.scrape(page),
+        Document document = Jsoup.parse("<html><body><h1 data-test-id=\"title\">Stokta Var Ama Fiyat Yok</h1></body></html>");
+        assertThrows(ScrapeFailedException.class, () -> strategy.extract(document),
                 "Should throw exception if product is in stock but price is 0");
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_Extract_From_Snapshot() {
+
+        Document document = Jsoup.parse("""
+                <html><body>
+                <h1 data-test-id="title">Asus Gaming Laptop</h1>
+                <div data-test-id="checkout-price"><div>Sepette</div><div> 1.299,90 TL
+                (KDV Dahil)</div></div>
+                </body></html>
+                """);
+
+        ScrapedProduct result = strategy.extract(document);
+
+        assertEquals("Asus Gaming Laptop", result.getProductName());
+        assertEquals(new BigDecimal("1299.90"), result.getPrice());
+        assertTrue(result.getInStock());
+    }
+
+    @Test
+    void should_Report_Out_Of_Stock_From_Snapshot() {
+
+        Document document = Jsoup.parse("""
+                <html><body><h1>Laptop</h1><button>Gelince Haber Ver</button></body></html>
+                """);
+
+        assertFalse(strategy.extract(document).getInStock());
+    }
+
+    @Test
+    void should_Ignore_Out_Of_Stock_Buttons_Outside_The_Product() {
+
+        Document document = Jsoup.parse("""
+                <html><body>
+                <section><h1 data-test-id="title">Laptop</h1>
+                <div data-test-id="price-current-price">24.999,00 TL</div></section>
+                <section class="carousel"><button>Gelince Haber Ver</button></section>
+                </body></html>
+                """);
+
+        assertTrue(strategy.extract(document).getInStock());
+    }
+}
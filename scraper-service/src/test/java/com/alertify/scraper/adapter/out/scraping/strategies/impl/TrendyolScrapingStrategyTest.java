@@ -18,54 +18,35 @@ package com.alertify.scraper.adapter.out.scraping.strategies.impl;
 
 import com.alertify.common.exception.ResourceNotFoundException;
 import com.alertify.common.exception.ScrapeFailedException;
-import com.alertify.scraper.adapter.out.scraping.strategies.BaseStrategyTest;
 import com.alertify.scraper.domain.model.ScrapedProduct;
-import com.microsoft.playwright.Locator;
-import com.microsoft.playwright.Page;
-import com.microsoft.playwright.TimeoutError;
+import org.jsoup.Jsoup;
+import org.jsoup.nodes.Document;
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
-import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 
-@ExtendWith(MockitoExtension.class)
-public class TrendyolScrapingStrategyTest extends BaseStrategyTest {
+public class TrendyolScrapingStrategyTest {
 
-    @InjectMocks
-    private TrendyolScrapingStrategy strategy;
+    private final TrendyolScrapingStrategy strategy = new TrendyolScrapingStrategy();
 
     @Test
     void should_Scrape_Correctly_When_Product_In_Stock() {
 
-        // mocking page title
-        when(page.title()).thenReturn("Trendyol: Mavi Kazak");
-        mockTextContent("h1.pr-new-br", "Mavi Jeans Erkek Kazak");
+        Document document = Jsoup.parse("""
+                <html><head><title>Trendyol: Mavi Kazak</title></head><body>
+                <h1 class="pr-new-br">Mavi Jeans Erkek Kazak</h1>
+                <div class="price-wrapper"><span class="discounted">299,99 TL</span></div>
+                </body></html>
+                """);
 
-        // mocking price
-        Locator priceWrapper = mock(Locator.class);
-        when(page.locator(".price-wrapper")).thenReturn(priceWrapper);
-        when(priceWrapper.first()).thenReturn(priceWrapper);
-
-        Locator discountedPrice = mock(Locator.class);
-        when(priceWrapper.locator(".discounted")).thenReturn(discountedPrice);
-
-        when(discountedPrice.count()).thenReturn(1);
-        when(discountedPrice.first()).thenReturn(discountedPrice);
-        when(discountedPrice.textContent()).thenReturn("299,99 TL");
-
-        ScrapedProduct result = strategy.scrape(page);
+        ScrapedProduct result = strategy.extract(document);
 
         // assertions
         assertNotNull(result, "ScrapedProduct should not be null");
         assertEquals("Mavi Jeans Erkek Kazak", result.getProductName(), "Product name should match");
+        assertEquals(new BigDecimal("299.99"), result.getPrice());
         assertEquals("Trendyol", result.getShopName(), "Shop name should be Trendyol");
         assertTrue(result.getInStock());
     }
@@ -73,69 +54,105 @@ public class TrendyolScrapingStrategyTest extends BaseStrategyTest {
     @Test
     void should_Detect_Out_Of_Stock_When_Button_Visible() {
 
-        // mocking page title
-        when(page.title()).thenReturn("Trendyol Ürün");
-        mockTextContent("h1.pr-new-br", "Tükenmiş Ürün");
+        Document document = Jsoup.parse("""
+                <html><head><title>Trendyol Ürün</title></head><body>
+                <h1 class="pr-new-br">Tükenmiş Ürün</h1>
+                <div class="price-wrapper"><span class="discounted">500 TL</span></div>
+                <button>Gelince Haber Ver</button>
+                </body></html>
+                """);
 
-        // mocking price
-        Locator priceWrapper = mock(Locator.class);
-        when(page.locator(".price-wrapper")).thenReturn(priceWrapper);
-        when(priceWrapper.first()).thenReturn(priceWrapper);
+        ScrapedProduct result = strategy.extract(document);
 
-        Locator priceLoc = mock(Locator.class);
-        when(priceWrapper.locator(".discounted")).thenReturn(priceLoc);
+        assertFalse(result.getInStock(), "That button means product is out of stock");
+    }
 
-        when(priceLoc.count()).thenReturn(1);
-        when(priceLoc.first()).thenReturn(priceLoc);
-        when(priceLoc.textContent()).thenReturn("500 TL");
+    @Test
+    void should_Throw_ResourceNotFound_When_Page_Not_Found() {
 
-        // mocking out-of-stock button
-        Locator outOfStockBtn = mock(Locator.class);
-        when(outOfStockBtn.isVisible()).thenReturn(true);
-        when(page.locator("button:has-text('Gelince Haber Ver')")).thenReturn(outOfStockBtn);
+        Document document = Jsoup.parse("<html><head><title>Sayfa Bulunamadı - Trendyol</title></head></html>");
+        assertThrows(ResourceNotFoundException.class, () -> strategy.extract(document));
+    }
 
-        ScrapedProduct result = strategy.scrape(page);
+    @Test
+    void should_Throw_ScrapeFailed_When_Title_Missing() {
 
-        assertFalse(result.getInStock(), "That button means product is out of stock");
+        // what a blocked or half-rendered page leaves behind
+        Document document = Jsoup.parse("<html><head><title>Standard Title</title></head><body><div></div></body></html>");
+        assertThrows(ScrapeFailedException.class, () -> strategy.extract(document));
     }
 
     @Test
-    void should_Throw_ResourceNotFound_When_Page_Not_Found() {
+    void should_Parse_Messy_Price_Format_Correctly() {
 
-        when(page.title()).thenReturn("Sayfa Bulunamadı - Trendyol");
-        assertThrows(ResourceNotFoundException.class, () -> strategy.scrape(page));
+        Document document = Jsoup.parse("""
+                <html><body><h1 class="pr-new-br">Test Product</h1>
+                <div class="price-wrapper"><span class="discounted"> 1.250,00 TL </span></div></body></html>
+                """);
+
+        ScrapedProduct result = strategy.extract(document);
+
+        assertEquals(new BigDecimal("1250.00"), result.getPrice());
     }
 
     @Test
-    void should_Throw_ScrapeFailed_When_Timeout_Occurs() {
+    void should_Extract_From_Snapshot() {
 
-        when(page.title()).thenReturn("Standard Title");
+        Document document = Jsoup.parse("""
+                <html><head><title>Trendyol</title></head><body>
+                <h1 class="pr-new-br">Mavi Jeans Kazak</h1>
+                <div class="price-wrapper"><span class="new-price">1.299,90 TL</span></div>
+                </body></html>
+                """);
 
-        // simulating timeout on waitForSelector
-        when(page.waitForSelector(anyString(), any(Page.WaitForSelectorOptions.class)))
-                .thenThrow(new TimeoutError("Timeout occurred"));
-        assertThrows(ScrapeFailedException.class, () -> strategy.scrape(page));
+        ScrapedProduct result = strategy.extract(document);
+
+        assertEquals("Mavi Jeans Kazak", result.getProductName());
+        assertEquals(new BigDecimal("1299.90"), result.getPrice());
+        assertTrue(result.getInStock());
     }
 
     @Test
-    void should_Parse_Messy_Price_Format_Correctly() {
+    void should_Detect_Sold_Out_From_Snapshot() {
 
-        when(page.title()).thenReturn("Test");
-        mockTextContent("h1.pr-new-br", "Test Product");
+        Document document = Jsoup.parse("""
+                <html><body><h1>Kazak</h1><div><span> Tükendi </span></div></body></html>
+                """);
 
-        Locator priceWrapper = mock(Locator.class);
-        when(page.locator(".price-wrapper")).thenReturn(priceWrapper);
-        when(priceWrapper.first()).thenReturn(priceWrapper);
+        ScrapedProduct result = strategy.extract(document);
 
-        // Price format is messy
-        Locator priceLoc = mock(Locator.class);
-        when(priceWrapper.locator(".discounted")).thenReturn(priceLoc);
-        when(priceLoc.count()).thenReturn(1);
-        when(priceLoc.first()).thenReturn(priceLoc);
-        when(priceLoc.textContent()).thenReturn(" 1.250,00 TL ");
+        assertFalse(result.getInStock());
+        assertEquals(BigDecimal.ZERO, result.getPrice());
+    }
 
-        ScrapedProduct result = strategy.scrape(page);
+    @Test
+    void should_Ignore_Sold_Out_Badges_Outside_The_Product() {
 
-        assertEquals(new BigDecimal("1250.00"), result.getPrice());
+        Document document = Jsoup.parse("""
+                <html><body>
+                <div class="product"><h1 class="pr-new-br">Kazak</h1>
+                <div class="price-wrapper"><span class="new-price">499,90 TL</span></div></div>
+                <div class="recommendations"><div class="card"><span class="sold-out-icon"></span><span>Tükendi</span></div></div>
+                </body></html>
+                """);
+
+        ScrapedProduct result = strategy.extract(document);
+
+        assertTrue(result.getInStock());
+        assertEquals(new BigDecimal("499.90"), result.getPrice());
+    }
+
+    @Test
+    void should_Read_The_Price_From_The_Product_Not_An_Earlier_Carousel() {
+
+        Document document = Jsoup.parse("""
+                <html><body>
+                <div class="recommendations"><div class="card"><div class="price-wrapper"><span class="discounted">99,90 TL</span></div></div></div>
+                <div class="product"><h1 class="pr-new-br">Kazak</h1>
+                <div class="price-wrapper"><span class="discounted">1.499,00 TL</span></div></div>
+                </body></html>
+                """);
+
+        assertEquals(new BigDecimal("1499.00"), strategy.extract(document).getPrice());
     }
 }
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.scraper.application.service;
+
+import com.alertify.common.exception.ScrapeFailedException;
+import com.alertify.scraper.application.port.out.ScraperPort;
+import com.alertify.scraper.domain.model.ScrapedProduct;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScraperServiceTest {
+
+    private static final String URL = "https://www.trendyol.com/mavi/kazak-p-123";
+
+    @Mock
+    private ScraperPort port;
+
+    private ScraperService service;
+
+    private final ScrapedProduct product = ScrapedProduct.builder()
+            .productName("Kazak")
+            .price(new BigDecimal("499.90"))
+            .currency("TRY")
+            .inStock(true)
+            .build();
+
+    @BeforeEach
+    void setUp() {
+
+        // zero sized so that coalescing is tested on its own
+        Cache<String, ScrapedProduct> resultCache = Caffeine.newBuilder().maximumSize(0).executor(Runnable::run).build();
+        service = new ScraperService(port, resultCache);
+        ReflectionTestUtils.setField(service, "scrapeTimeoutMs", 5000L);
+    }
+
+    @Test
+    void should_Coalesce_Concurrent_Requests_For_Same_Url() throws Exception {
+
+        // the follower's cache lookup releases the leader, and whichever way the race then goes (joining the
+        // flight or finding the result the leader cached) the page is fetched exactly once
+        CountDownLatch followerArrived = new CountDownLatch(1);
+        Cache<String, ScrapedProduct> resultCache = spy(Caffeine.newBuilder().maximumSize(10).<String, ScrapedProduct>build());
+        service = new ScraperService(port, resultCache);
+        ReflectionTestUtils.setField(service, "scrapeTimeoutMs", 5000L);
+
+        CountDownLatch scraping = new CountDownLatch(1);
+        when(port.fetchProduct(URL)).thenAnswer(invocation -> {
+            scraping.countDown();
+            assertTrue(followerArrived.await(5, TimeUnit.SECONDS));
+            return product;
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<ScrapedProduct> leader = executor.submit(() -> service.getScrapedProduct(URL));
+            assertTrue(scraping.await(5, TimeUnit.SECONDS));
+
+            doAnswer(invocation -> {
+                followerArrived.countDown();
+                return invocation.callRealMethod();
+            }).when(resultCache).getIfPresent(URL);
+            Future<ScrapedProduct> follower = executor.submit(() -> service.getScrapedProduct(URL));
+
+            assertSame(product, leader.get(5, TimeUnit.SECONDS));
+            assertSame(product, follower.get(5, TimeUnit.SECONDS));
+            verify(port, times(1)).fetchProduct(URL);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_Give_Up_Waiting_For_A_Stalled_Leader() throws Exception {
+
+        ReflectionTestUtils.setField(service, "scrapeTimeoutMs", 50L);
+        CountDownLatch scraping = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(port.fetchProduct(URL)).thenAnswer(invocation -> {
+            scraping.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return product;
+        });
+
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<ScrapedProduct> leader = executor.submit(() -> service.getScrapedProduct(URL));
+            assertTrue(scraping.await(5, TimeUnit.SECONDS));
+
+            ScrapeFailedException ex = assertThrows(ScrapeFailedException.class, () -> service.getScrapedProduct(URL));
+            assertTrue(ex.isTransient());
+
+            release.countDown();
+            assertSame(product, leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_Scrape_Again_Once_Previous_Flight_Finished() {
+
+        when(port.fetchProduct(URL)).thenReturn(product);
+
+        service.getScrapedProduct(URL);
+        service.getScrapedProduct(URL);
+
+        verify(port, times(2)).fetchProduct(URL);
+    }
+
+    @Test
+    void should_Not_Keep_Failed_Flight() {
+
+        when(port.fetchProduct(URL))
+                .thenThrow(new ScrapeFailedException("Timeout", true))
+                .thenReturn(product);
+
+        assertThrows(ScrapeFailedException.class, () -> service.getScrapedProduct(URL));
+        assertSame(product, service.getScrapedProduct(URL));
+    }
+
+    @Test
+    void should_Serve_Repeated_Requests_From_Cache() {
+
+        service = new ScraperService(port, Caffeine.newBuilder().maximumSize(10).<String, ScrapedProduct>build());
+        when(port.fetchProduct(URL)).thenReturn(product);
+
+        service.getScrapedProduct(URL);
+        assertSame(product, service.getScrapedProduct(URL + " "));
+
+        verify(port, times(1)).fetchProduct(URL);
+    }
+
+    @Test
+    void should_Not_Cache_Failures() {
+
+        service = new ScraperService(port, Caffeine.newBuilder().maximumSize(10).<String, ScrapedProduct>build());
+        when(port.fetchProduct(URL)).thenThrow(new ScrapeFailedException("Blocked", false));
+
+        assertThrows(ScrapeFailedException.class, () -> service.getScrapedProduct(URL));
+        assertThrows(ScrapeFailedException.class, () -> service.getScrapedProduct(URL));
+
+        verify(port, times(2)).fetchProduct(URL);
+    }
+}
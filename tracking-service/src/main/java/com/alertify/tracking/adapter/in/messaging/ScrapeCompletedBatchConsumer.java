@@ -0,0 +1,98 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.messaging;
+
+import com.alertify.common.event.PriceScrapeCompletedEvent;
+import com.alertify.common.infrastructure.config.RabbitMQConfig;
+import com.alertify.tracking.application.port.in.ScrapeResultsUseCase;
+import com.alertify.tracking.domain.model.ScrapeResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "alertify.tracking.results.batch.enabled", havingValue = "true", matchIfMissing = true)
+public class ScrapeCompletedBatchConsumer {
+
+    private final ScrapeResultsUseCase useCase;
+    private final RabbitTemplate rabbitTemplate;
+
+    @RabbitListener(
+            queues = "${alertify.rabbitmq.completed-queue}",
+            containerFactory = "batchRabbitListenerContainerFactory"
+    )
+    public void consumeScrapeResults(
+            List<PriceScrapeCompletedEvent> events
+    ) {
+
+        log.info("Scrape result batch received. Size: {}", events.size());
+
+        List<ScrapeResult> results = events.stream()
+                .map(this::toScrapeResult)
+                .toList();
+
+        try {
+            int updated = useCase.handleScrapeResults(results);
+            log.info("Database updated for {} of {} scrape results", updated, events.size());
+
+        } catch (Exception e) {
+            // one bad result must not requeue the whole batch forever: retry each on its own transaction
+            log.warn("Batch update failed, falling back to single updates. Size: {} - Error: {}", events.size(), e.getMessage());
+            events.forEach(this::handleSingle);
+        }
+    }
+
+    private void handleSingle(
+            PriceScrapeCompletedEvent event
+    ) {
+
+        try {
+            useCase.handleScrapeResult(
+                    event.getProductId(),
+                    event.getProductName(),
+                    event.getPrice(),
+                    event.getInStock(),
+                    event.getCurrency(),
+                    event.getCheckedAt()
+            );
+        } catch (Exception e) {
+            // the batch is acked as a whole, so a failed result is dead-lettered by hand like the single consumer's rejection
+            log.error("Failed to update product price in DB (To DLQ). ID: {} - Error: {}", event.getProductId(), e.getMessage());
+            rabbitTemplate.convertAndSend(RabbitMQConfig.DLQ_EXCHANGE_NAME, RabbitMQConfig.DLQ_ROUTING_KEY, event);
+        }
+    }
+
+    private ScrapeResult toScrapeResult(
+            PriceScrapeCompletedEvent event
+    ) {
+        return new ScrapeResult(
+                event.getProductId(),
+                event.getProductName(),
+                event.getPrice(),
+                event.getInStock(),
+                event.getCurrency(),
+                event.getCheckedAt()
+        );
+    }
+}
@@ -21,11 +21,13 @@ import com.alertify.tracking.application.port.in.ScrapeResultsUseCase;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "alertify.tracking.results.batch.enabled", havingValue = "false")
 public class ScrapeCompletedConsumer {
 
     private final ScrapeResultsUseCase useCase;
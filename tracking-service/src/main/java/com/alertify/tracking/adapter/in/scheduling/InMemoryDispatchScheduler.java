@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.scheduling;
+
+import com.alertify.tracking.application.port.out.DispatchSchedulePort;
+import com.alertify.tracking.application.port.out.ProductPort;
+import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.domain.model.Product;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+// the due queue lives in this JVM only, so memory mode is for a single tracking-service replica; with several,
+// each would dispatch every product it loaded and miss the (re)schedules handled by the others
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "alertify.tracking.scheduler.mode", havingValue = "memory")
+public class InMemoryDispatchScheduler implements DispatchSchedulePort {
+
+    private static final int LOAD_PAGE_SIZE = 1000;
+
+    private final ProductPort productPort;
+    private final ScrapePort scrapePort;
+
+    @Value("${alertify.tracking.dispatch-lease-minutes:10}")
+    private long dispatchLeaseMinutes;
+
+    // the queue only holds id + due time; entries whose due time no longer matches dueTimes are stale and skipped
+    private final DelayQueue<DueEntry> queue = new DelayQueue<>();
+    private final Map<UUID, Long> dueTimes = new ConcurrentHashMap<>();
+    private final Map<UUID, String> urls = new ConcurrentHashMap<>();
+
+    private volatile Thread dispatcher;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+
+        int loaded = 0;
+        for (int page = 0; ; page++) {
+            List<Product> products = productPort.findActiveProducts(PageRequest.of(page, LOAD_PAGE_SIZE, Sort.by("id")));
+            products.forEach(product -> enqueue(product.getId(), product.getUrl(), product.getNextCheckAt()));
+            loaded += products.size();
+            if (products.size() < LOAD_PAGE_SIZE) {
+                break;
+            }
+        }
+
+        dispatcher = Thread.ofPlatform().name("due-dispatcher").daemon().start(this::dispatchLoop);
+        log.info("In-memory dispatch scheduler started with {} active products (single replica mode)", loaded);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+        }
+    }
+
+    @Override
+    public void schedule(
+            UUID productId,
+            String url,
+            Instant dueAt
+    ) {
+        afterCommit(() -> enqueue(productId, url, dueAt));
+    }
+
+    @Override
+    public void cancel(
+            UUID productId
+    ) {
+
+        afterCommit(() -> {
+            dueTimes.remove(productId);
+            urls.remove(productId);
+        });
+    }
+
+    int size() {
+        return dueTimes.size();
+    }
+
+    // callers change the product in the same transaction, so a rollback must not leave the queue ahead of the database
+    private void afterCommit(
+            Runnable change
+    ) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private void enqueue(
+            UUID productId,
+            String url,
+            Instant dueAt
+    ) {
+
+        long due = dueAt != null ? dueAt.toEpochMilli() : System.currentTimeMillis();
+        urls.put(productId, url);
+        dueTimes.put(productId, due);
+        queue.put(new DueEntry(productId, due));
+    }
+
+    private void dispatchLoop() {
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                dispatch(queue.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                log.error("In-memory dispatcher failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void dispatch(
+            DueEntry entry
+    ) {
+
+        Long current = dueTimes.get(entry.productId());
+        String url = urls.get(entry.productId());
+        if (current == null || current != entry.dueAt() || url == null) {
+            return;
+        }
+
+        // keep the product parked for a lease so a lost result still leads to another attempt
+        enqueue(entry.productId(), url, Instant.now().plus(dispatchLeaseMinutes, ChronoUnit.MINUTES));
+
+        try {
+            scrapePort.sendScrapeRequest(entry.productId(), url);
+            log.debug("Sent scrape request for Product ID: {}", entry.productId());
+        } catch (Exception e) {
+            log.error("Failed to send scrape request for Product ID: {}", entry.productId(), e);
+        }
+    }
+
+    private record DueEntry(
+            UUID productId,
+            long dueAt
+    ) implements Delayed {
+
+        @Override
+        public long getDelay(
+                TimeUnit unit
+        ) {
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(
+                Delayed other
+        ) {
+            return Long.compare(dueAt, ((DueEntry) other).dueAt);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.scheduling;
+
+import com.alertify.tracking.application.port.out.DispatchSchedulePort;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "alertify.tracking.scheduler.mode", havingValue = "db", matchIfMissing = true)
+public class PollingDispatchSchedule implements DispatchSchedulePort {
+
+    // TrackingScheduler reads next_check_at from the database on every tick, so there is nothing to keep in sync
+
+    @Override
+    public void schedule(
+            UUID productId,
+            String url,
+            Instant dueAt
+    ) {
+    }
+
+    @Override
+    public void cancel(
+            UUID productId
+    ) {
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.scheduling;
+
+import com.alertify.tracking.application.port.in.OutboxRelayUseCase;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScrapeOutboxRelay {
+
+    private final OutboxRelayUseCase outboxRelayUseCase;
+
+    @Value("${alertify.tracking.outbox.batch-size:100}")
+    private int batchSize;
+
+    @Value("${alertify.tracking.outbox.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Scheduled(fixedDelayString = "${alertify.tracking.outbox.relay-delay-ms:1000}")
+    public void relay() {
+
+        int relayed = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            try {
+                int count = outboxRelayUseCase.relayScrapeRequests(batchSize);
+                relayed += count;
+                if (count < batchSize) {
+                    break;
+                }
+            } catch (Exception e) {
+                log.error("Outbox relay failed: {}", e.getMessage(), e);
+                break;
+            }
+        }
+
+        if (relayed > 0) {
+            log.info("Relayed {} scrape requests from the outbox", relayed);
+        }
+    }
+}
@@ -18,57 +18,93 @@ package com.alertify.tracking.adapter.in.scheduling;
 
 import com.alertify.tracking.application.port.in.TrackingUseCase;
 import com.alertify.tracking.application.port.out.ScrapePort;
-import com.alertify.tracking.domain.model.TrackedProduct;
+import com.alertify.tracking.domain.model.ScanBacklog;
+import com.alertify.tracking.domain.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.UUID;
 
 @Slf4j
 @Component
 @RequiredArgsConstructor
+@ConditionalOnProperty(name = "alertify.tracking.scheduler.mode", havingValue = "db", matchIfMissing = true)
 public class TrackingScheduler {
 
     private final TrackingUseCase trackingUseCase;
     private final ScrapePort scrapePort;
 
-    @Value("${alertify.tracking.scan-interval-minutes}")
-    private int scanIntervalMinutes;
-
     @Value("${alertify.tracking.scan-batch-size}")
     private int batchSize;
 
+    @Value("${alertify.tracking.scan-tick-budget:1000}")
+    private int tickBudget;
+
+    @Value("${alertify.tracking.dispatch-lease-minutes:10}")
+    private long dispatchLeaseMinutes;
+
     @Scheduled(fixedRateString = "${alertify.tracking.scan-scheduler-rate-ms}", initialDelay = 10000)
     public void scheduleScraping() {
 
         log.info("Cron Job triggered: Checking for products to scrape...");
 
-        Instant threshold = Instant.now().minus(scanIntervalMinutes, ChronoUnit.MINUTES);
+        Duration lease = Duration.ofMinutes(dispatchLeaseMinutes);
+
+        // claimed rows leave the due set, so each batch continues with the next-oldest products
+        int dispatched = 0;
+        while (dispatched < tickBudget) {
+            int limit = Math.min(batchSize, tickBudget - dispatched);
+            List<Product> productsToScan = trackingUseCase.claimProductsToScan(lease, PageRequest.of(0, limit));
 
-        Pageable pageable = PageRequest.of(0, batchSize);
-        List<TrackedProduct> productsToScan = trackingUseCase.getProductsToScan(threshold, pageable);
+            dispatch(productsToScan);
+            dispatched += productsToScan.size();
 
-        if (productsToScan.isEmpty()) {
+            if (productsToScan.size() < limit) {
+                break;
+            }
+        }
+
+        if (dispatched == 0) {
             log.info("No products found needing update.");
             return;
         }
 
-        log.info("Found {} products to scan. Sending to Scraper Service...", productsToScan.size());
+        log.info("Sent {} products to Scraper Service.", dispatched);
+
+        if (dispatched >= tickBudget) {
+            Instant now = Instant.now();
+            ScanBacklog backlog = trackingUseCase.getScanBacklog(now);
+            if (backlog.dueCount() > 0) {
+                log.warn("Scan budget of {} exhausted. Backlog: {} products still due, oldest is {} min overdue",
+                        tickBudget, backlog.dueCount(), backlog.lagBehind(now).toMinutes());
+            }
+        }
+    }
+
+    private void dispatch(
+            List<Product> products
+    ) {
+
+        if (products.isEmpty()) {
+            return;
+        }
 
-        for (TrackedProduct product : productsToScan) {
-            try {
-                scrapePort.sendScrapeRequest(product.getId(), product.getUrl());
-                log.debug("Sent scrape request for Product ID: {}", product.getId());
-            } catch (Exception e) {
-                log.error("Failed to send scrape request for Product ID: {}", product.getId(), e);
+        // unconfirmed products keep their lease and are picked up again once it runs out
+        try {
+            List<UUID> failed = scrapePort.sendScrapeRequests(products);
+            if (!failed.isEmpty()) {
+                log.warn("{} of {} scrape requests were not confirmed and will be retried after the lease", failed.size(), products.size());
             }
+        } catch (Exception e) {
+            log.error("Failed to send batch of {} scrape requests", products.size(), e);
         }
     }
 }
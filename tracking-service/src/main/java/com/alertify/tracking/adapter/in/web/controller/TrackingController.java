@@ -17,15 +17,20 @@
 package com.alertify.tracking.adapter.in.web.controller;
 
 import com.alertify.tracking.adapter.in.web.dto.request.CreateTrackingRequest;
+import com.alertify.tracking.adapter.in.web.dto.response.PriceChartResponse;
 import com.alertify.tracking.adapter.in.web.dto.response.PriceHistoryResponse;
+import com.alertify.tracking.adapter.in.web.dto.response.PricePointResponse;
+import com.alertify.tracking.adapter.in.web.dto.response.ProductResponse;
 import com.alertify.tracking.adapter.in.web.dto.response.TrackingResponse;
 import com.alertify.tracking.adapter.in.web.dto.request.UpdateTrackingRequest;
 import com.alertify.tracking.application.port.in.TrackingUseCase;
+import com.alertify.tracking.domain.model.PriceChart;
 import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.PriceRollup;
+import com.alertify.tracking.domain.model.Product;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -34,6 +39,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -42,8 +48,6 @@ import java.util.UUID;
 @RequestMapping("/api/v1/trackings")
 public class TrackingController {
 
-    @Value("${alertify.tracking.scan-interval-minutes:30}")
-    private int scanIntervalMinutes;
     private final TrackingUseCase useCase;
 
     @PostMapping
@@ -69,15 +73,14 @@ public class TrackingController {
     }
 
     @GetMapping("/scan-candidates")
-    public ResponseEntity<List<TrackingResponse>> getProductsToScan(
+    public ResponseEntity<List<ProductResponse>> getProductsToScan(
             @RequestParam(defaultValue = "10") int limit
     ) {
 
-        Instant threshold = Instant.now().minus(scanIntervalMinutes, java.time.temporal.ChronoUnit.MINUTES);
         Pageable pageable = PageRequest.of(0, limit);
         return ResponseEntity.ok(
-                useCase.getProductsToScan(threshold, pageable).stream()
-                        .map(this::toTrackingResponse)
+                useCase.getProductsToScan(Instant.now(), pageable).stream()
+                        .map(this::toProductResponse)
                         .toList()
         );
     }
@@ -116,6 +119,26 @@ public class TrackingController {
         );
     }
 
+    // with a range the resolution follows its length: raw segments, hourly or daily rollups
+    @GetMapping(value = "/{productId}/history", params = {"from", "to"})
+    public ResponseEntity<PriceChartResponse> getProductPriceChart(
+            @PathVariable UUID productId,
+            @RequestParam UUID userId,
+            @RequestParam Instant from,
+            @RequestParam Instant to
+    ) {
+        return ResponseEntity.ok(toPriceChartResponse(useCase.getPriceChart(productId, userId, from, to)));
+    }
+
+    @GetMapping("/{productId}/history/at")
+    public ResponseEntity<PriceHistoryResponse> getProductPriceAt(
+            @PathVariable UUID productId,
+            @RequestParam UUID userId,
+            @RequestParam Instant time
+    ) {
+        return ResponseEntity.ok(toPriceHistoryResponse(useCase.getPriceAt(productId, userId, time)));
+    }
+
     private TrackingResponse toTrackingResponse(
             TrackedProduct domain
     ) {
@@ -135,12 +158,64 @@ public class TrackingController {
         );
     }
 
+    private ProductResponse toProductResponse(
+            Product domain
+    ) {
+        return new ProductResponse(
+                domain.getId(),
+                domain.getUrl(),
+                domain.getProductName(),
+                domain.getCurrentPrice(),
+                domain.getInStock(),
+                domain.getCurrency(),
+                domain.getIsActive(),
+                domain.getLastCheckedAt(),
+                domain.getNextCheckAt()
+        );
+    }
+
     private PriceHistoryResponse toPriceHistoryResponse(
             PriceHistory domain
     ) {
         return new PriceHistoryResponse(
                 domain.getPrice(),
-                domain.getDetectedAt()
+                domain.getInStock(),
+                domain.getDetectedAt(),
+                domain.getLastConfirmedAt()
+        );
+    }
+
+    private PriceChartResponse toPriceChartResponse(
+            PriceChart chart
+    ) {
+
+        List<PricePointResponse> points = new ArrayList<>();
+        chart.segments().forEach(segment -> points.add(new PricePointResponse(
+                segment.getDetectedAt(),
+                segment.getPrice(),
+                segment.getPrice(),
+                segment.getPrice(),
+                segment.getPrice(),
+                segment.getPrice(),
+                null,
+                segment.getInStock()
+        )));
+        chart.rollups().forEach(rollup -> points.add(toPricePointResponse(rollup)));
+        return new PriceChartResponse(chart.resolution().name(), points);
+    }
+
+    private PricePointResponse toPricePointResponse(
+            PriceRollup rollup
+    ) {
+        return new PricePointResponse(
+                rollup.getBucketStart(),
+                rollup.getOpenPrice(),
+                rollup.getClosePrice(),
+                rollup.getMinPrice(),
+                rollup.getMaxPrice(),
+                rollup.getAveragePrice(),
+                rollup.getSampleCount(),
+                null
         );
     }
 }
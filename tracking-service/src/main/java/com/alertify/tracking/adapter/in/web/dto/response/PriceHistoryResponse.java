@@ -21,6 +21,8 @@ import java.time.Instant;
 
 public record PriceHistoryResponse(
         BigDecimal price,
-        Instant detectedAt
+        Boolean inStock,
+        Instant detectedAt,
+        Instant lastConfirmedAt
 ) {
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.common.url.UrlCanonicalizer;
+import com.alertify.tracking.adapter.out.jpa.entity.DataMigrationEntity;
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import com.alertify.tracking.adapter.out.jpa.repository.DataMigrationRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceHistoryRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceRollupRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ScrapeOutboxRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.TrackedProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+// products created before URLs were canonicalized carry the raw URL and its hash, so the same page tracked through
+// two links is stored twice and a new canonical lookup misses the old row; rewrite them once and fold duplicates
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CanonicalUrlMigration implements ApplicationRunner {
+
+    static final String NAME = "canonical-product-urls";
+    private static final int PAGE_SIZE = 500;
+
+    private final DataMigrationRepository dataMigrationRepository;
+    private final ProductRepository productRepository;
+    private final TrackedProductRepository trackedProductRepository;
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceRollupRepository priceRollupRepository;
+    private final ScrapeOutboxRepository scrapeOutboxRepository;
+
+    @Override
+    @Transactional
+    public void run(
+            ApplicationArguments args
+    ) {
+
+        if (dataMigrationRepository.existsById(NAME)) {
+            return;
+        }
+
+        int rewritten = 0;
+        int merged = 0;
+        UUID after = new UUID(0, 0);
+        while (true) {
+            List<Object[]> page = productRepository.findUrlsAfter(after, PageRequest.of(0, PAGE_SIZE));
+            for (Object[] row : page) {
+                UUID id = (UUID) row[0];
+                String url = (String) row[1];
+                String canonicalUrl = UrlCanonicalizer.canonicalize(url);
+                if (canonicalUrl.equals(url)) {
+                    continue;
+                }
+
+                switch (canonicalize(id, canonicalUrl)) {
+                    case REWRITTEN -> rewritten++;
+                    case MERGED -> merged++;
+                    case SKIPPED -> { }
+                }
+            }
+            if (page.size() < PAGE_SIZE) {
+                break;
+            }
+            after = (UUID) page.getLast()[0];
+        }
+
+        dataMigrationRepository.save(new DataMigrationEntity(NAME, Instant.now()));
+        log.info("Canonical URL migration finished: {} products rewritten, {} merged into an existing product", rewritten, merged);
+    }
+
+    private Outcome canonicalize(
+            UUID id,
+            String canonicalUrl
+    ) {
+
+        UUID urlHash = ProductEntity.hashUrl(canonicalUrl);
+        Optional<ProductEntity> survivor = productRepository.findByUrlHash(urlHash);
+
+        if (survivor.isEmpty() || survivor.get().getId().equals(id)) {
+            productRepository.updateUrl(id, canonicalUrl, urlHash);
+            trackedProductRepository.moveToProduct(id, id, canonicalUrl);
+            scrapeOutboxRepository.moveToProduct(id, id, canonicalUrl);
+            return Outcome.REWRITTEN;
+        }
+
+        UUID survivorId = survivor.get().getId();
+        if (!survivor.get().getUrl().equals(canonicalUrl)) {
+            log.error("URL hash collision between {} and stored {}, leaving product {} as is", canonicalUrl, survivor.get().getUrl(), id);
+            return Outcome.SKIPPED;
+        }
+
+        trackedProductRepository.activateTrackingsActiveOn(id, survivorId);
+        trackedProductRepository.deleteTrackingsDuplicatedOn(id, survivorId);
+        trackedProductRepository.moveToProduct(id, survivorId, canonicalUrl);
+        priceHistoryRepository.moveToProduct(id, survivorId);
+        priceRollupRepository.deleteBucketsOverlapping(id, survivorId);
+        priceRollupRepository.moveToProduct(id, survivorId);
+        scrapeOutboxRepository.moveToProduct(id, survivorId, canonicalUrl);
+        productRepository.deleteProduct(id);
+        productRepository.refreshActivity(survivorId);
+        log.info("Merged product {} into {} under {}", id, survivorId, canonicalUrl);
+        return Outcome.MERGED;
+    }
+
+    private enum Outcome {
+        REWRITTEN,
+        MERGED,
+        SKIPPED
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.tracking.adapter.out.jpa.mapper.PriceRollupMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceRollupRepository;
+import com.alertify.tracking.application.port.out.PriceRollupPort;
+import com.alertify.tracking.domain.model.PriceResolution;
+import com.alertify.tracking.domain.model.PriceRollup;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class PriceRollupAdapter implements PriceRollupPort {
+
+    // merges a partial rollup into its bucket in one statement, so concurrent consumers never lose samples
+    private static final String ACCUMULATE_SQL = """
+            INSERT INTO price_rollups (id, product_id, resolution, bucket_start, open_price, close_price, min_price,
+                                       max_price, price_sum, sample_count, first_at, last_at)
+            VALUES (gen_random_uuid(), ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            ON CONFLICT (product_id, resolution, bucket_start) DO UPDATE SET
+                open_price = CASE WHEN EXCLUDED.first_at < price_rollups.first_at
+                                  THEN EXCLUDED.open_price ELSE price_rollups.open_price END,
+                close_price = CASE WHEN EXCLUDED.last_at >= price_rollups.last_at
+                                   THEN EXCLUDED.close_price ELSE price_rollups.close_price END,
+                min_price = LEAST(price_rollups.min_price, EXCLUDED.min_price),
+                max_price = GREATEST(price_rollups.max_price, EXCLUDED.max_price),
+                price_sum = price_rollups.price_sum + EXCLUDED.price_sum,
+                sample_count = price_rollups.sample_count + EXCLUDED.sample_count,
+                first_at = LEAST(price_rollups.first_at, EXCLUDED.first_at),
+                last_at = GREATEST(price_rollups.last_at, EXCLUDED.last_at)
+            """;
+
+    private static final Comparator<PriceRollup> BUCKET_ORDER = Comparator.comparing(PriceRollup::getProductId)
+            .thenComparing(PriceRollup::getResolution)
+            .thenComparing(PriceRollup::getBucketStart);
+
+    private final PriceRollupRepository priceRollupRepository;
+    private final PriceRollupMapper priceRollupMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void accumulate(
+            Collection<PriceRollup> rollups
+    ) {
+
+        // one round trip per result batch instead of one upsert per bucket; a fixed row order keeps two consumers
+        // upserting overlapping buckets from locking them in opposite orders
+        List<Object[]> rows = rollups.stream()
+                .sorted(BUCKET_ORDER)
+                .map(rollup -> new Object[]{
+                        rollup.getProductId(),
+                        rollup.getResolution().name(),
+                        Timestamp.from(rollup.getBucketStart()),
+                        rollup.getOpenPrice(),
+                        rollup.getClosePrice(),
+                        rollup.getMinPrice(),
+                        rollup.getMaxPrice(),
+                        rollup.getPriceSum(),
+                        rollup.getSampleCount(),
+                        Timestamp.from(rollup.getFirstAt()),
+                        Timestamp.from(rollup.getLastAt())
+                })
+                .toList();
+        jdbcTemplate.batchUpdate(ACCUMULATE_SQL, rows);
+    }
+
+    @Override
+    public List<PriceRollup> findRollups(
+            UUID productId,
+            PriceResolution resolution,
+            Instant from,
+            Instant to
+    ) {
+        return priceRollupRepository.findByProductIdAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(productId, resolution, from, to).stream()
+                .map(priceRollupMapper::toDomain)
+                .toList();
+    }
+}
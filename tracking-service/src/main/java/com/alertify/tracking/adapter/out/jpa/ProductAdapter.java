@@ -0,0 +1,282 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.common.exception.ResourceAlreadyExistsException;
+import com.alertify.tracking.adapter.out.jpa.entity.PriceHistoryEntity;
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import com.alertify.tracking.adapter.out.jpa.mapper.PriceHistoryMapper;
+import com.alertify.tracking.adapter.out.jpa.mapper.ProductMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceHistoryRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
+import com.alertify.tracking.application.port.out.ProductPort;
+import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScanBacklog;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ProductAdapter implements ProductPort {
+
+    // the same columns as ProductRepository.updateCheckState, so is_active and dispatched_at written by concurrent
+    // transactions (tracking toggles, dispatch claims) are never overwritten with this transaction's stale copy
+    private static final String UPDATE_CHECK_STATE_SQL = """
+            UPDATE products
+            SET product_name = ?, current_price = ?, in_stock = ?, currency = ?, last_checked_at = ?, next_check_at = ?, updated_at = ?
+            WHERE id = ?
+            """;
+    private static final String CONFIRM_SEGMENT_SQL = """
+            UPDATE price_history SET last_confirmed_at = ?
+            WHERE id = ? AND (last_confirmed_at IS NULL OR last_confirmed_at < ?)
+            """;
+
+    private final ProductRepository productRepository;
+    private final ProductMapper productMapper;
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final PriceHistoryMapper priceHistoryMapper;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public Product save(
+            Product product
+    ) {
+
+        var entity = productMapper.toEntity(product);
+        var savedEntity = productRepository.save(entity);
+        return productMapper.toDomain(savedEntity);
+    }
+
+    @Override
+    public void updateActivity(
+            UUID id,
+            boolean active
+    ) {
+        productRepository.updateActivity(id, active, Instant.now());
+    }
+
+    @Override
+    public void recordPriceCheck(
+            Product product,
+            PriceHistory priceHistory
+    ) {
+
+        // a targeted UPDATE of the product plus either a new segment row or a bump of the current one's confirmation
+        productRepository.updateCheckState(
+                product.getId(),
+                product.getProductName(),
+                product.getCurrentPrice(),
+                product.getInStock(),
+                product.getCurrency(),
+                product.getLastCheckedAt(),
+                product.getNextCheckAt(),
+                Instant.now()
+        );
+
+        if (priceHistory.getId() != null) {
+            priceHistoryRepository.confirmSegment(priceHistory.getId(), priceHistory.getLastConfirmedAt());
+            return;
+        }
+
+        PriceHistoryEntity entity = priceHistoryMapper.toEntity(priceHistory);
+        entity.setProduct(productRepository.getReferenceById(product.getId()));
+        priceHistoryRepository.save(entity);
+    }
+
+    @Override
+    public void recordPriceChecks(
+            Collection<Product> products,
+            Collection<PriceHistory> priceHistory
+    ) {
+
+        Instant now = Instant.now();
+        List<Object[]> checkStates = products.stream()
+                .map(product -> new Object[]{
+                        product.getProductName(),
+                        product.getCurrentPrice(),
+                        product.getInStock(),
+                        product.getCurrency(),
+                        timestamp(product.getLastCheckedAt()),
+                        timestamp(product.getNextCheckAt()),
+                        Timestamp.from(now),
+                        product.getId()
+                })
+                .toList();
+        jdbcTemplate.batchUpdate(UPDATE_CHECK_STATE_SQL, checkStates);
+
+        List<Object[]> confirmations = new ArrayList<>();
+        List<PriceHistoryEntity> entities = new ArrayList<>();
+        for (PriceHistory history : priceHistory) {
+            if (history.getId() != null) {
+                Timestamp confirmedAt = timestamp(history.getLastConfirmedAt());
+                confirmations.add(new Object[]{confirmedAt, history.getId(), confirmedAt});
+                continue;
+            }
+            PriceHistoryEntity entity = priceHistoryMapper.toEntity(history);
+            entity.setProduct(productRepository.getReferenceById(history.getProductId()));
+            entities.add(entity);
+        }
+        jdbcTemplate.batchUpdate(CONFIRM_SEGMENT_SQL, confirmations);
+        priceHistoryRepository.saveAll(entities);
+    }
+
+    @Override
+    public Optional<Product> findById(
+            UUID id
+    ) {
+        return productRepository.findById(id).map(productMapper::toDomain);
+    }
+
+    @Override
+    public Optional<Product> findByUrl(
+            String url
+    ) {
+
+        UUID urlHash = ProductEntity.hashUrl(url);
+        Optional<ProductEntity> entity = productRepository.findByUrlHash(urlHash);
+        if (entity.isPresent() && !entity.get().getUrl().equals(url)) {
+            // the unique hash leaves no room for a second URL, so refuse it rather than mixing two products
+            log.error("URL hash collision between {} and stored {}", url, entity.get().getUrl());
+            throw new ResourceAlreadyExistsException("Product", "url hash", urlHash);
+        }
+        return entity.map(productMapper::toDomain);
+    }
+
+    @Override
+    public List<Product> findAllByIds(
+            Collection<UUID> ids
+    ) {
+        return productRepository.findAllById(ids).stream()
+                .map(productMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findActiveProducts(
+            Pageable pageable
+    ) {
+        return productRepository.findAllByIsActiveTrue(pageable).stream()
+                .map(productMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Product> findProductsToScan(
+            Instant now,
+            Pageable pageable
+    ) {
+        return productRepository.findProductsToScan(now, pageable).stream()
+                .map(productMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public List<Product> claimProductsToScan(
+            Duration lease,
+            Pageable pageable
+    ) {
+
+        Instant now = Instant.now();
+        List<Product> products = productRepository.findDueForDispatch(now, pageable).stream()
+                .map(productMapper::toDomain)
+                .toList();
+
+        if (!products.isEmpty()) {
+            products.forEach(product -> product.markDispatched(now, lease));
+            productRepository.markDispatched(
+                    products.stream().map(Product::getId).toList(),
+                    now,
+                    now.plus(lease)
+            );
+        }
+        return products;
+    }
+
+    @Override
+    public ScanBacklog getScanBacklog(
+            Instant now
+    ) {
+        return new ScanBacklog(
+                productRepository.countDueForDispatch(now),
+                productRepository.findOldestDueAt(now)
+        );
+    }
+
+    @Override
+    public List<PriceHistory> findPriceHistoryByProductId(
+            UUID productId,
+            Pageable pageable
+    ) {
+        return priceHistoryRepository.findByProductIdOrderByDetectedAtDesc(productId, pageable).stream()
+                .map(priceHistoryMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Optional<PriceHistory> findPriceHistoryAt(
+            UUID productId,
+            Instant at
+    ) {
+        return priceHistoryRepository.findFirstByProductIdAndDetectedAtLessThanEqualOrderByDetectedAtDesc(productId, at)
+                .map(priceHistoryMapper::toDomain);
+    }
+
+    @Override
+    public List<PriceHistory> findPriceHistoryBetween(
+            UUID productId,
+            Instant from,
+            Instant to
+    ) {
+        return priceHistoryRepository.findByProductIdAndDetectedAtBetweenOrderByDetectedAtAsc(productId, from, to).stream()
+                .map(priceHistoryMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public Map<UUID, List<PriceHistory>> findRecentPriceHistory(
+            Collection<UUID> productIds,
+            int limit
+    ) {
+        return priceHistoryRepository.findRecentByProductIds(productIds, limit).stream()
+                .map(priceHistoryMapper::toDomain)
+                .collect(Collectors.groupingBy(PriceHistory::getProductId, Collectors.toCollection(ArrayList::new)));
+    }
+
+    private static Timestamp timestamp(
+            Instant instant
+    ) {
+        return instant != null ? Timestamp.from(instant) : null;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.tracking.adapter.out.jpa.mapper.OutboxMessageMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.ScrapeOutboxRepository;
+import com.alertify.tracking.application.port.out.ScrapeOutboxPort;
+import com.alertify.tracking.domain.model.OutboxMessage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Component
+@RequiredArgsConstructor
+public class ScrapeOutboxAdapter implements ScrapeOutboxPort {
+
+    private final ScrapeOutboxRepository scrapeOutboxRepository;
+    private final OutboxMessageMapper outboxMessageMapper;
+
+    @Override
+    public void enqueue(
+            UUID productId,
+            String url
+    ) {
+
+        OutboxMessage message = OutboxMessage.builder()
+                .productId(productId)
+                .url(url)
+                .build();
+        scrapeOutboxRepository.save(outboxMessageMapper.toEntity(message));
+    }
+
+    @Override
+    public List<OutboxMessage> claimPending(
+            int limit
+    ) {
+        return scrapeOutboxRepository.findPendingForRelay(PageRequest.of(0, limit)).stream()
+                .map(outboxMessageMapper::toDomain)
+                .toList();
+    }
+
+    @Override
+    public void delete(
+            Collection<UUID> messageIds
+    ) {
+
+        if (!messageIds.isEmpty()) {
+            scrapeOutboxRepository.deleteAllByIdInBatch(messageIds);
+        }
+    }
+}
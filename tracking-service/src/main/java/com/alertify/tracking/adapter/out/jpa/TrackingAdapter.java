@@ -16,20 +16,20 @@
 
 package com.alertify.tracking.adapter.out.jpa;
 
-import com.alertify.tracking.adapter.out.jpa.mapper.PriceHistoryMapper;
 import com.alertify.tracking.adapter.out.jpa.mapper.TrackedProductMapper;
-import com.alertify.tracking.adapter.out.jpa.repository.PriceHistoryRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
 import com.alertify.tracking.adapter.out.jpa.repository.TrackedProductRepository;
 import com.alertify.tracking.application.port.out.TrackingPort;
-import com.alertify.tracking.domain.model.PriceHistory;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
-import java.time.Instant;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -39,9 +39,8 @@ public class TrackingAdapter implements TrackingPort {
 
     private final TrackedProductRepository trackedProductRepository;
     private final TrackedProductMapper trackedProductMapper;
-    
-    private final PriceHistoryRepository priceHistoryRepository;
-    private final PriceHistoryMapper priceHistoryMapper;
+
+    private final ProductRepository productRepository;
 
     @Override
     public TrackedProduct save(
@@ -49,6 +48,7 @@ public class TrackingAdapter implements TrackingPort {
     ) {
 
         var entity = trackedProductMapper.toEntity(trackedProduct);
+        entity.setProduct(productRepository.getReferenceById(trackedProduct.getProductId()));
         var savedEntity = trackedProductRepository.save(entity);
         return trackedProductMapper.toDomain(savedEntity);
     }
@@ -63,35 +63,39 @@ public class TrackingAdapter implements TrackingPort {
     }
 
     @Override
-    public List<TrackedProduct> findProductsToScan(
-            Instant threshold,
-            Pageable pageable
+    public Optional<TrackedProduct> findById(
+            UUID id
     ) {
-        return trackedProductRepository.findProductsToScan(threshold, pageable).stream()
-                .map(trackedProductMapper::toDomain)
-                .toList();
+        return trackedProductRepository.findById(id).map(trackedProductMapper::toDomain);
     }
 
     @Override
-    public Optional<TrackedProduct> findByProductId(
-            UUID id
+    public Optional<TrackedProduct> findByUserIdAndProductId(
+            UUID userId,
+            UUID productId
     ) {
-        return trackedProductRepository.findById(id).map(trackedProductMapper::toDomain);
+        return trackedProductRepository.findByUserIdAndProductId(userId, productId).map(trackedProductMapper::toDomain);
     }
 
     @Override
-    public Optional<TrackedProduct> findByUserIdAndUrl(UUID userId, String url) {
-        return trackedProductRepository.findByUserIdAndUrl(userId, url).map(trackedProductMapper::toDomain);
+    public boolean hasActiveTrackings(
+            UUID productId
+    ) {
+        return trackedProductRepository.existsByProductIdAndIsActiveTrue(productId);
     }
 
     @Override
-    public List<PriceHistory> findPriceHistoryByProductId(
-            UUID productId,
-            Pageable pageable
+    public Map<UUID, BigDecimal> findHighestActiveTargetPrices(
+            Collection<UUID> productIds
     ) {
-        return  priceHistoryRepository.findByProductIdOrderByDetectedAtDesc(productId, pageable).stream()
-                .map(priceHistoryMapper::toDomain)
-                .toList();
-    }
 
+        // the highest target is the first one a falling price reaches
+        Map<UUID, BigDecimal> targetPrices = new HashMap<>();
+        for (Object[] row : trackedProductRepository.findHighestActiveTargetPrices(productIds)) {
+            if (row[1] != null) {
+                targetPrices.put((UUID) row[0], (BigDecimal) row[1]);
+            }
+        }
+        return targetPrices;
+    }
 }
@@ -28,7 +28,15 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "price_history")
+@Table(
+        name = "price_history",
+        indexes = {
+                @Index(
+                        name = "idx_price_history_product_detected_at",
+                        columnList = "product_id, detected_at"
+                )
+        }
+)
 public class PriceHistoryEntity {
 
     @Id
@@ -36,13 +44,21 @@ public class PriceHistoryEntity {
     private UUID id;
 
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "product_id", nullable = false)
+    @JoinColumn(
+            name = "product_id",
+            nullable = false,
+            foreignKey = @ForeignKey(name = "fk_price_history_product")
+    )
     @ToString.Exclude
-    private TrackedProductEntity product;
+    private ProductEntity product;
 
     @Column(nullable = false)
     private BigDecimal price;
 
+    private Boolean inStock;
+
     @Column(nullable = false)
     private Instant detectedAt;
+
+    private Instant lastConfirmedAt;
 }
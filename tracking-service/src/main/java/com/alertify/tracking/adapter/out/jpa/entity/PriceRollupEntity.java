@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.entity;
+
+import com.alertify.tracking.domain.model.PriceResolution;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(
+        name = "price_rollups",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uc_price_rollup_product_resolution_bucket",
+                        columnNames = {"product_id", "resolution", "bucket_start"}
+                )
+        }
+)
+public class PriceRollupEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false)
+    private UUID productId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 8)
+    private PriceResolution resolution;
+
+    @Column(nullable = false)
+    private Instant bucketStart;
+
+    @Column(nullable = false)
+    private BigDecimal openPrice;
+
+    @Column(nullable = false)
+    private BigDecimal closePrice;
+
+    @Column(nullable = false)
+    private BigDecimal minPrice;
+
+    @Column(nullable = false)
+    private BigDecimal maxPrice;
+
+    // the average is derived as price_sum / sample_count so rows can keep merging
+    @Column(nullable = false)
+    private BigDecimal priceSum;
+
+    @Column(nullable = false)
+    private long sampleCount;
+
+    @Column(nullable = false)
+    private Instant firstAt;
+
+    @Column(nullable = false)
+    private Instant lastAt;
+}
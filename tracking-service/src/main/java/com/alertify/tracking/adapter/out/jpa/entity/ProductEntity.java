@@ -0,0 +1,104 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@EntityListeners(AuditingEntityListener.class)
+@Table(
+        name = "products",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uc_product_url_hash",
+                        columnNames = {"url_hash"}
+                )
+        }
+)
+public class ProductEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    private UUID id;
+
+    @Column(nullable = false, length = 2048)
+    private String url;
+
+    // fixed-width stand-in for url in the unique index, so neither index size nor lookups grow with URL length
+    private UUID urlHash;
+
+    private String productName;
+    private BigDecimal currentPrice;
+    private Boolean inStock;
+
+    @Column(length = 3)
+    private String currency;
+
+    // true while at least one tracking of this product is active
+    private Boolean isActive;
+
+    @Column(updatable = false)
+    private Instant createdAt;
+
+    @LastModifiedDate
+    private Instant updatedAt;
+
+    private Instant lastCheckedAt;
+
+    private Instant nextCheckAt;
+    private Instant dispatchedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = Instant.now();
+        if (nextCheckAt == null) {
+            nextCheckAt = createdAt;
+        }
+        if (isActive == null) {
+            isActive = true;
+        }
+    }
+
+    // the raw MD5 digest as a uuid, which is exactly what postgres computes for md5(url)::uuid
+    public static UUID hashUrl(
+            String url
+    ) {
+
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(url.getBytes(StandardCharsets.UTF_8));
+            ByteBuffer buffer = ByteBuffer.wrap(digest);
+            return new UUID(buffer.getLong(), buffer.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is not available", e);
+        }
+    }
+}
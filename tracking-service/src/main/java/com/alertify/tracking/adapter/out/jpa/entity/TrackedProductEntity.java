@@ -23,8 +23,6 @@ import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Entity
@@ -37,8 +35,14 @@ import java.util.UUID;
         name = "tracked_products",
         uniqueConstraints = {
                 @UniqueConstraint(
-                        name = "uc_tracked_product_userid_url",
-                        columnNames = {"user_id", "url"}
+                        name = "uc_tracked_product_userid_productid",
+                        columnNames = {"user_id", "product_id"}
+                )
+        },
+        indexes = {
+                @Index(
+                        name = "idx_tracked_products_product_id",
+                        columnList = "product_id"
                 )
         }
 )
@@ -51,16 +55,14 @@ public class TrackedProductEntity {
     @Column(nullable = false)
     private UUID userId;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "product_id")
+    @ToString.Exclude
+    private ProductEntity product;
+
     @Column(nullable = false, length = 2048)
     private String url;
 
-    private String productName;
-    private BigDecimal currentPrice;
-    private Boolean inStock;
-
-    @Column(length = 3)
-    private String currency;
-
     private BigDecimal targetPrice;
     private Boolean isActive;
 
@@ -70,13 +72,6 @@ public class TrackedProductEntity {
     @LastModifiedDate
     private Instant updatedAt;
 
-    private Instant lastCheckedAt;
-
-    @OneToMany(mappedBy = "product", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @ToString.Exclude
-    @Builder.Default
-    private List<PriceHistoryEntity> priceHistory = new ArrayList<>();
-
     @PrePersist
     protected void onCreate() {
         createdAt = Instant.now();
@@ -84,4 +79,4 @@ public class TrackedProductEntity {
             isActive = true;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.mapper;
+
+import com.alertify.tracking.adapter.out.jpa.entity.ScrapeOutboxEntity;
+import com.alertify.tracking.domain.model.OutboxMessage;
+import org.springframework.stereotype.Component;
+
+@Component
+public class OutboxMessageMapper {
+
+    public ScrapeOutboxEntity toEntity(
+            OutboxMessage domain
+    ) {
+
+        if (domain == null) return null;
+
+        return ScrapeOutboxEntity.builder()
+                .id(domain.getId())
+                .productId(domain.getProductId())
+                .url(domain.getUrl())
+                .createdAt(domain.getCreatedAt())
+                .build();
+    }
+
+    public OutboxMessage toDomain(
+            ScrapeOutboxEntity entity
+    ) {
+
+        if (entity == null) return null;
+
+        return OutboxMessage.builder()
+                .id(entity.getId())
+                .productId(entity.getProductId())
+                .url(entity.getUrl())
+                .createdAt(entity.getCreatedAt())
+                .build();
+    }
+}
@@ -17,7 +17,7 @@
 package com.alertify.tracking.adapter.out.jpa.mapper;
 
 import com.alertify.tracking.adapter.out.jpa.entity.PriceHistoryEntity;
-import com.alertify.tracking.adapter.out.jpa.entity.TrackedProductEntity;
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
 import com.alertify.tracking.domain.model.PriceHistory;
 import org.springframework.stereotype.Component;
 
@@ -32,9 +32,11 @@ public class PriceHistoryMapper {
 
         return PriceHistoryEntity.builder()
                 .id(domain.getId())
-                .product(TrackedProductEntity.builder().id(domain.getProductId()).build())
+                .product(ProductEntity.builder().id(domain.getProductId()).build())
                 .price(domain.getPrice())
+                .inStock(domain.getInStock())
                 .detectedAt(domain.getDetectedAt())
+                .lastConfirmedAt(domain.getLastConfirmedAt())
                 .build();
     }
 
@@ -46,8 +48,11 @@ public class PriceHistoryMapper {
 
         return PriceHistory.builder()
                 .id(entity.getId())
+                .productId(entity.getProduct() != null ? entity.getProduct().getId() : null)
                 .price(entity.getPrice())
+                .inStock(entity.getInStock())
                 .detectedAt(entity.getDetectedAt())
+                .lastConfirmedAt(entity.getLastConfirmedAt())
                 .build();
     }
 }
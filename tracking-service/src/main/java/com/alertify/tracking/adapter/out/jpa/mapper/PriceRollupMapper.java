@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.mapper;
+
+import com.alertify.tracking.adapter.out.jpa.entity.PriceRollupEntity;
+import com.alertify.tracking.domain.model.PriceRollup;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PriceRollupMapper {
+
+    public PriceRollup toDomain(
+            PriceRollupEntity entity
+    ) {
+
+        if (entity == null) return null;
+
+        return PriceRollup.builder()
+                .productId(entity.getProductId())
+                .resolution(entity.getResolution())
+                .bucketStart(entity.getBucketStart())
+                .openPrice(entity.getOpenPrice())
+                .closePrice(entity.getClosePrice())
+                .minPrice(entity.getMinPrice())
+                .maxPrice(entity.getMaxPrice())
+                .priceSum(entity.getPriceSum())
+                .sampleCount(entity.getSampleCount())
+                .firstAt(entity.getFirstAt())
+                .lastAt(entity.getLastAt())
+                .build();
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.mapper;
+
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import com.alertify.tracking.domain.model.Product;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProductMapper {
+
+    public ProductEntity toEntity(
+            Product domain
+    ) {
+
+        if (domain == null) return null;
+
+        return ProductEntity.builder()
+                .id(domain.getId())
+                .url(domain.getUrl())
+                .urlHash(domain.getUrl() != null ? ProductEntity.hashUrl(domain.getUrl()) : null)
+                .productName(domain.getProductName())
+                .currentPrice(domain.getCurrentPrice())
+                .inStock(domain.getInStock())
+                .currency(domain.getCurrency())
+                .isActive(domain.getIsActive())
+                .createdAt(domain.getCreatedAt())
+                .updatedAt(domain.getUpdatedAt())
+                .lastCheckedAt(domain.getLastCheckedAt())
+                .nextCheckAt(domain.getNextCheckAt())
+                .dispatchedAt(domain.getDispatchedAt())
+                .build();
+    }
+
+    public Product toDomain(
+            ProductEntity entity
+    ) {
+
+        if (entity == null) return null;
+
+        return Product.builder()
+                .id(entity.getId())
+                .url(entity.getUrl())
+                .productName(entity.getProductName())
+                .currentPrice(entity.getCurrentPrice())
+                .inStock(entity.getInStock())
+                .currency(entity.getCurrency())
+                .isActive(entity.getIsActive())
+                .createdAt(entity.getCreatedAt())
+                .updatedAt(entity.getUpdatedAt())
+                .lastCheckedAt(entity.getLastCheckedAt())
+                .nextCheckAt(entity.getNextCheckAt())
+                .dispatchedAt(entity.getDispatchedAt())
+                .build();
+    }
+}
@@ -19,13 +19,43 @@ package com.alertify.tracking.adapter.out.jpa.repository;
 import com.alertify.tracking.adapter.out.jpa.entity.PriceHistoryEntity;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 @Repository
 public interface PriceHistoryRepository extends JpaRepository<PriceHistoryEntity, UUID> {
 
     List<PriceHistoryEntity> findByProductIdOrderByDetectedAtDesc(UUID productId, Pageable pageable);
+
+    // the segment in effect at a point in time is the last one that started at or before it
+    Optional<PriceHistoryEntity> findFirstByProductIdAndDetectedAtLessThanEqualOrderByDetectedAtDesc(UUID productId, Instant at);
+
+    List<PriceHistoryEntity> findByProductIdAndDetectedAtBetweenOrderByDetectedAtAsc(UUID productId, Instant from, Instant to);
+
+    @Modifying
+    @Query("UPDATE PriceHistoryEntity h SET h.lastConfirmedAt = :confirmedAt WHERE h.id = :id AND (h.lastConfirmedAt IS NULL OR h.lastConfirmedAt < :confirmedAt)")
+    int confirmSegment(@Param("id") UUID id, @Param("confirmedAt") Instant confirmedAt);
+
+    @Query(value = """
+            SELECT ranked.id, ranked.product_id, ranked.price, ranked.in_stock, ranked.detected_at, ranked.last_confirmed_at FROM (
+                SELECT ph.*, ROW_NUMBER() OVER (PARTITION BY ph.product_id ORDER BY ph.detected_at DESC) AS rn
+                FROM price_history ph
+                WHERE ph.product_id IN (:productIds)
+            ) ranked
+            WHERE ranked.rn <= :limit
+            ORDER BY ranked.product_id, ranked.detected_at DESC
+            """, nativeQuery = true)
+    List<PriceHistoryEntity> findRecentByProductIds(@Param("productIds") Collection<UUID> productIds, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE price_history SET product_id = :to WHERE product_id = :from", nativeQuery = true)
+    int moveToProduct(@Param("from") UUID from, @Param("to") UUID to);
 }
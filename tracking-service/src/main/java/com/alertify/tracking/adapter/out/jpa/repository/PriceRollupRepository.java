@@ -0,0 +1,54 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.repository;
+
+import com.alertify.tracking.adapter.out.jpa.entity.PriceRollupEntity;
+import com.alertify.tracking.domain.model.PriceResolution;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface PriceRollupRepository extends JpaRepository<PriceRollupEntity, UUID> {
+
+    List<PriceRollupEntity> findByProductIdAndResolutionAndBucketStartBetweenOrderByBucketStartAsc(
+            UUID productId,
+            PriceResolution resolution,
+            Instant from,
+            Instant to
+    );
+
+    // both products were read from the same page, so a bucket the survivor already has loses nothing by being kept
+    @Modifying
+    @Query(value = """
+            DELETE FROM price_rollups r
+            WHERE r.product_id = :from
+              AND EXISTS (SELECT 1 FROM price_rollups s
+                          WHERE s.product_id = :to AND s.resolution = r.resolution AND s.bucket_start = r.bucket_start)
+            """, nativeQuery = true)
+    int deleteBucketsOverlapping(@Param("from") UUID from, @Param("to") UUID to);
+
+    @Modifying
+    @Query(value = "UPDATE price_rollups SET product_id = :to WHERE product_id = :from", nativeQuery = true)
+    int moveToProduct(@Param("from") UUID from, @Param("to") UUID to);
+}
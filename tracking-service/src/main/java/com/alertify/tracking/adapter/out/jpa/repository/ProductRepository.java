@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.repository;
+
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ProductRepository extends JpaRepository<ProductEntity, UUID> {
+
+    Optional<ProductEntity> findByUrlHash(UUID urlHash);
+
+    @Query("SELECT p FROM ProductEntity p WHERE p.isActive = true AND p.nextCheckAt <= :now ORDER BY p.nextCheckAt")
+    List<ProductEntity> findProductsToScan(@Param("now") Instant now, Pageable pageable);
+
+    // lock timeout -2 is Hibernate's SKIP LOCKED: concurrent replicas claim disjoint rows instead of waiting on each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT p FROM ProductEntity p WHERE p.isActive = true AND p.nextCheckAt <= :now ORDER BY p.nextCheckAt, p.id")
+    List<ProductEntity> findDueForDispatch(@Param("now") Instant now, Pageable pageable);
+
+    @Query("SELECT COUNT(p) FROM ProductEntity p WHERE p.isActive = true AND p.nextCheckAt <= :now")
+    long countDueForDispatch(@Param("now") Instant now);
+
+    @Query("SELECT MIN(p.nextCheckAt) FROM ProductEntity p WHERE p.isActive = true AND p.nextCheckAt <= :now")
+    Instant findOldestDueAt(@Param("now") Instant now);
+
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.dispatchedAt = :dispatchedAt, p.nextCheckAt = :nextCheckAt WHERE p.id IN :ids")
+    int markDispatched(@Param("ids") List<UUID> ids, @Param("dispatchedAt") Instant dispatchedAt, @Param("nextCheckAt") Instant nextCheckAt);
+
+    @Modifying
+    @Query("""
+            UPDATE ProductEntity p
+            SET p.productName = :productName, p.currentPrice = :price, p.inStock = :inStock, p.currency = :currency,
+                p.lastCheckedAt = :checkedAt, p.nextCheckAt = :nextCheckAt, p.updatedAt = :updatedAt
+            WHERE p.id = :id
+            """)
+    int updateCheckState(
+            @Param("id") UUID id,
+            @Param("productName") String productName,
+            @Param("price") BigDecimal price,
+            @Param("inStock") Boolean inStock,
+            @Param("currency") String currency,
+            @Param("checkedAt") Instant checkedAt,
+            @Param("nextCheckAt") Instant nextCheckAt,
+            @Param("updatedAt") Instant updatedAt
+    );
+
+    // only the flag, so a concurrent dispatch claim or price check on the same row keeps its next_check_at and price
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.isActive = :active, p.updatedAt = :updatedAt WHERE p.id = :id AND p.isActive <> :active")
+    int updateActivity(@Param("id") UUID id, @Param("active") boolean active, @Param("updatedAt") Instant updatedAt);
+
+    List<ProductEntity> findAllByIsActiveTrue(Pageable pageable);
+
+    // keyset pages of (id, url) for the canonical URL migration, which rewrites and deletes rows while it walks them
+    @Query("SELECT p.id, p.url FROM ProductEntity p WHERE p.id > :after ORDER BY p.id")
+    List<Object[]> findUrlsAfter(@Param("after") UUID after, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE ProductEntity p SET p.url = :url, p.urlHash = :urlHash WHERE p.id = :id")
+    int updateUrl(@Param("id") UUID id, @Param("url") String url, @Param("urlHash") UUID urlHash);
+
+    @Modifying
+    @Query(value = """
+            UPDATE products SET is_active = EXISTS (
+                SELECT 1 FROM tracked_products t WHERE t.product_id = :id AND t.is_active = true
+            )
+            WHERE id = :id
+            """, nativeQuery = true)
+    int refreshActivity(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "DELETE FROM products WHERE id = :id", nativeQuery = true)
+    int deleteProduct(@Param("id") UUID id);
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa.repository;
+
+import com.alertify.tracking.adapter.out.jpa.entity.ScrapeOutboxEntity;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ScrapeOutboxRepository extends JpaRepository<ScrapeOutboxEntity, UUID> {
+
+    // same SKIP LOCKED claim as the scan scheduler, so several relays drain disjoint rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM ScrapeOutboxEntity o ORDER BY o.createdAt, o.id")
+    List<ScrapeOutboxEntity> findPendingForRelay(Pageable pageable);
+
+    @Modifying
+    @Query(value = "UPDATE scrape_outbox SET product_id = :to, url = :url WHERE product_id = :from", nativeQuery = true)
+    int moveToProduct(@Param("from") UUID from, @Param("to") UUID to, @Param("url") String url);
+}
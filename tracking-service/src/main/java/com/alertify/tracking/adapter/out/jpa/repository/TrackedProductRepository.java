@@ -19,12 +19,14 @@ package com.alertify.tracking.adapter.out.jpa.repository;
 import com.alertify.tracking.adapter.out.jpa.entity.TrackedProductEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -32,10 +34,38 @@ import java.util.UUID;
 @Repository
 public interface TrackedProductRepository extends JpaRepository<TrackedProductEntity, UUID> {
 
+    @EntityGraph(attributePaths = "product")
     Page<TrackedProductEntity> findAllByUserId(UUID userId, Pageable pageable);
 
-    @Query("SELECT p FROM TrackedProductEntity p WHERE p.isActive = true AND (p.lastCheckedAt IS NULL OR p.lastCheckedAt < :threshold)")
-    List<TrackedProductEntity> findProductsToScan(@Param("threshold") Instant threshold, Pageable pageable);
+    Optional<TrackedProductEntity> findByUserIdAndProductId(UUID userId, UUID productId);
 
-    Optional<TrackedProductEntity> findByUserIdAndUrl(UUID userId, String url);
+    boolean existsByProductIdAndIsActiveTrue(UUID productId);
+
+    @Query("""
+            SELECT t.product.id, MAX(t.targetPrice) FROM TrackedProductEntity t
+            WHERE t.isActive = true AND t.product.id IN :productIds
+            GROUP BY t.product.id
+            """)
+    List<Object[]> findHighestActiveTargetPrices(@Param("productIds") Collection<UUID> productIds);
+
+    // a user tracking both URL variants keeps the survivor's tracking, re-activated if the other one was active
+    @Modifying
+    @Query(value = """
+            UPDATE tracked_products s SET is_active = true
+            FROM tracked_products t
+            WHERE s.product_id = :to AND t.product_id = :from AND t.user_id = s.user_id AND t.is_active = true
+            """, nativeQuery = true)
+    int activateTrackingsActiveOn(@Param("from") UUID from, @Param("to") UUID to);
+
+    @Modifying
+    @Query(value = """
+            DELETE FROM tracked_products t
+            WHERE t.product_id = :from
+              AND EXISTS (SELECT 1 FROM tracked_products s WHERE s.product_id = :to AND s.user_id = t.user_id)
+            """, nativeQuery = true)
+    int deleteTrackingsDuplicatedOn(@Param("from") UUID from, @Param("to") UUID to);
+
+    @Modifying
+    @Query(value = "UPDATE tracked_products SET product_id = :to, url = :url WHERE product_id = :from", nativeQuery = true)
+    int moveToProduct(@Param("from") UUID from, @Param("to") UUID to, @Param("url") String url);
 }
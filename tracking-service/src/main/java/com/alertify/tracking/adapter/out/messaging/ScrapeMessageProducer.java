@@ -17,15 +17,26 @@
 package com.alertify.tracking.adapter.out.messaging;
 
 import com.alertify.common.event.ScrapeRequestEvent;
+import com.alertify.common.model.Retailer;
 import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.domain.model.Product;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
@@ -40,6 +51,9 @@ public class ScrapeMessageProducer implements ScrapePort {
     @Value("${alertify.rabbitmq.routing-key}")
     private String routingKey;
 
+    @Value("${alertify.rabbitmq.publisher.confirm-timeout-ms:5000}")
+    private long confirmTimeoutMs;
+
     @Override
     public void sendScrapeRequest(
             UUID productId,
@@ -51,7 +65,7 @@ public class ScrapeMessageProducer implements ScrapePort {
         log.info("Preparing to send scrape request. Product ID: {} | URL: {}", productId, url);
 
         try {
-            rabbitTemplate.convertAndSend(exchange, routingKey, event);
+            rabbitTemplate.convertAndSend(exchange, routingKeyFor(url), event);
 
             log.info("Scrape request published successfully to RabbitMQ. Product ID: {}", productId);
 
@@ -64,4 +78,81 @@ public class ScrapeMessageProducer implements ScrapePort {
             throw new RuntimeException("Unexpected messaging error", e);
         }
     }
-}
\ No newline at end of file
+
+    @Override
+    public List<UUID> sendScrapeRequests(
+            Collection<Product> products
+    ) {
+
+        if (products.isEmpty()) {
+            return List.of();
+        }
+
+        Map<UUID, CorrelationData> published = new LinkedHashMap<>();
+
+        // one channel for the whole batch; confirms arrive asynchronously on each CorrelationData
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (Product product : products) {
+                    CorrelationData correlation = new CorrelationData(product.getId().toString());
+                    operations.convertAndSend(
+                            exchange,
+                            routingKeyFor(product.getUrl()),
+                            new ScrapeRequestEvent(product.getId(), product.getUrl()),
+                            correlation
+                    );
+                    published.put(product.getId(), correlation);
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            log.error("Batch publish interrupted after {} of {} scrape requests - Error: {}", published.size(), products.size(), e.getMessage());
+        }
+
+        List<UUID> failed = new ArrayList<>();
+        boolean confirms = rabbitTemplate.getConnectionFactory().isPublisherConfirms();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+
+        for (Product product : products) {
+            CorrelationData correlation = published.get(product.getId());
+            if (correlation == null) {
+                failed.add(product.getId());
+            } else if (confirms && !awaitAck(correlation, deadline)) {
+                failed.add(product.getId());
+            }
+        }
+
+        log.info("Published {} scrape requests to RabbitMQ ({} failed)", products.size() - failed.size(), failed.size());
+        return failed;
+    }
+
+    private boolean awaitAck(
+            CorrelationData correlation,
+            long deadline
+    ) {
+
+        try {
+            CorrelationData.Confirm confirm = correlation.getFuture().get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            if (!confirm.ack()) {
+                log.warn("Broker rejected scrape request. Product ID: {} - Reason: {}", correlation.getId(), confirm.reason());
+            }
+            return confirm.ack();
+
+        } catch (TimeoutException | ExecutionException e) {
+            log.warn("No publisher confirm for scrape request. Product ID: {}", correlation.getId());
+            return false;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String routingKeyFor(
+            String url
+    ) {
+        return Retailer.fromUrl(url)
+                .map(retailer -> retailer.routingKey(routingKey))
+                .orElse(routingKey);
+    }
+}
@@ -16,11 +16,15 @@
 
 package com.alertify.tracking.application.port.in;
 
+import com.alertify.tracking.domain.model.ScrapeResult;
+
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 public interface ScrapeResultsUseCase {
 
     boolean handleScrapeResult(UUID productId, String productName, BigDecimal price, Boolean inStock, String currency, Instant checkedAt);
+    int handleScrapeResults(List<ScrapeResult> results);
 }
\ No newline at end of file
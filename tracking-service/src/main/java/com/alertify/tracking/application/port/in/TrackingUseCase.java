@@ -16,12 +16,16 @@
 
 package com.alertify.tracking.application.port.in;
 
+import com.alertify.tracking.domain.model.PriceChart;
 import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScanBacklog;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
@@ -30,9 +34,13 @@ public interface TrackingUseCase {
 
     TrackedProduct createTrackedProduct(UUID userId, String url, BigDecimal targetPrice);
     Page<TrackedProduct> getTrackedProducts(UUID userId, Pageable pageable);
-    List<TrackedProduct> getProductsToScan(Instant threshold, Pageable pageable);
-    TrackedProduct updateTrackedProduct(UUID userId, UUID productId, BigDecimal targetPrice, Boolean isActive);
-    void deleteTrackedProduct(UUID productId, UUID userId);
+    List<Product> getProductsToScan(Instant now, Pageable pageable);
+    List<Product> claimProductsToScan(Duration lease, Pageable pageable);
+    ScanBacklog getScanBacklog(Instant now);
+    TrackedProduct updateTrackedProduct(UUID userId, UUID trackingId, BigDecimal targetPrice, Boolean isActive);
+    void deleteTrackedProduct(UUID trackingId, UUID userId);
 
-    List<PriceHistory> getPriceHistory(UUID productId, UUID userId, Pageable pageable);
+    List<PriceHistory> getPriceHistory(UUID trackingId, UUID userId, Pageable pageable);
+    PriceHistory getPriceAt(UUID trackingId, UUID userId, Instant at);
+    PriceChart getPriceChart(UUID trackingId, UUID userId, Instant from, Instant to);
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.port.out;
+
+import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScanBacklog;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProductPort {
+
+    Product save(Product product);
+    void updateActivity(UUID id, boolean active);
+    void recordPriceCheck(Product product, PriceHistory priceHistory);
+    void recordPriceChecks(Collection<Product> products, Collection<PriceHistory> priceHistory);
+    Optional<Product> findById(UUID id);
+    Optional<Product> findByUrl(String url);
+    List<Product> findAllByIds(Collection<UUID> ids);
+    List<Product> findActiveProducts(Pageable pageable);
+    List<Product> findProductsToScan(Instant now, Pageable pageable);
+    List<Product> claimProductsToScan(Duration lease, Pageable pageable);
+    ScanBacklog getScanBacklog(Instant now);
+
+    List<PriceHistory> findPriceHistoryByProductId(UUID productId, Pageable pageable);
+    Optional<PriceHistory> findPriceHistoryAt(UUID productId, Instant at);
+    List<PriceHistory> findPriceHistoryBetween(UUID productId, Instant from, Instant to);
+    Map<UUID, List<PriceHistory>> findRecentPriceHistory(Collection<UUID> productIds, int limit);
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.port.out;
+
+import com.alertify.tracking.domain.model.OutboxMessage;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface ScrapeOutboxPort {
+
+    void enqueue(UUID productId, String url);
+    List<OutboxMessage> claimPending(int limit);
+    void delete(Collection<UUID> messageIds);
+}
@@ -16,9 +16,15 @@
 
 package com.alertify.tracking.application.port.out;
 
+import com.alertify.tracking.domain.model.Product;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 
 public interface ScrapePort {
 
     void sendScrapeRequest(UUID productId, String url);
+
+    List<UUID> sendScrapeRequests(Collection<Product> products);
 }
@@ -16,13 +16,13 @@
 
 package com.alertify.tracking.application.port.out;
 
-import com.alertify.tracking.domain.model.PriceHistory;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
-import java.time.Instant;
-import java.util.List;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -30,9 +30,8 @@ public interface TrackingPort {
 
     TrackedProduct save(TrackedProduct trackedProduct);
     Page<TrackedProduct> findAllByUserId(UUID userId, Pageable pageable);
-    List<TrackedProduct> findProductsToScan(Instant threshold, Pageable pageable);
-    Optional<TrackedProduct> findByProductId(UUID id);
-    Optional<TrackedProduct> findByUserIdAndUrl(UUID userId, String url);
-
-    List<PriceHistory> findPriceHistoryByProductId(UUID productId, Pageable pageable);
+    Optional<TrackedProduct> findById(UUID id);
+    Optional<TrackedProduct> findByUserIdAndProductId(UUID userId, UUID productId);
+    boolean hasActiveTrackings(UUID productId);
+    Map<UUID, BigDecimal> findHighestActiveTargetPrices(Collection<UUID> productIds);
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.service;
+
+import com.alertify.tracking.application.port.in.OutboxRelayUseCase;
+import com.alertify.tracking.application.port.out.ScrapeOutboxPort;
+import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.domain.model.OutboxMessage;
+import com.alertify.tracking.domain.model.Product;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxRelayService implements OutboxRelayUseCase {
+
+    private final ScrapeOutboxPort scrapeOutboxPort;
+    private final ScrapePort scrapePort;
+
+    @Override
+    @Transactional
+    public int relayScrapeRequests(
+            int batchSize
+    ) {
+
+        List<OutboxMessage> pending = scrapeOutboxPort.claimPending(batchSize);
+        if (pending.isEmpty()) {
+            return 0;
+        }
+
+        List<Product> requests = pending.stream()
+                .map(message -> Product.builder().id(message.getProductId()).url(message.getUrl()).build())
+                .toList();
+
+        // only confirmed messages leave the outbox; the rest are retried on the next run
+        Set<UUID> failed = new HashSet<>(scrapePort.sendScrapeRequests(requests));
+        List<UUID> relayed = pending.stream()
+                .filter(message -> !failed.contains(message.getProductId()))
+                .map(OutboxMessage::getId)
+                .toList();
+
+        scrapeOutboxPort.delete(relayed);
+
+        if (!failed.isEmpty()) {
+            log.warn("{} of {} outbox messages could not be relayed and stay queued", pending.size() - relayed.size(), pending.size());
+        }
+        return relayed.size();
+    }
+}
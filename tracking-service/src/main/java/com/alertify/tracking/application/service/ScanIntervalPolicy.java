@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.service;
+
+import com.alertify.tracking.domain.model.PriceHistory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Component
+public class ScanIntervalPolicy {
+
+    private static final int MAX_BACKOFF_STEPS = 4;
+
+    @Value("${alertify.tracking.scan-interval-minutes}")
+    private long baseMinutes;
+
+    @Value("${alertify.tracking.adaptive-interval.enabled:true}")
+    private boolean enabled;
+
+    @Value("${alertify.tracking.adaptive-interval.min-minutes:10}")
+    private long minMinutes;
+
+    @Value("${alertify.tracking.adaptive-interval.max-minutes:720}")
+    private long maxMinutes;
+
+    @Value("${alertify.tracking.adaptive-interval.near-target-ratio:0.10}")
+    private BigDecimal nearTargetRatio;
+
+    @Value("${alertify.tracking.adaptive-interval.history-window:10}")
+    private int historyWindow;
+
+    public int getHistoryWindow() {
+        return historyWindow;
+    }
+
+    public Duration nextInterval(
+            BigDecimal newPrice,
+            BigDecimal targetPrice,
+            boolean stockChanged,
+            Instant checkedAt,
+            List<PriceHistory> recentSegments
+    ) {
+
+        if (!enabled) {
+            return Duration.ofMinutes(baseMinutes);
+        }
+        if (stockChanged) {
+            return Duration.ofMinutes(minMinutes);
+        }
+
+        // recentSegments is newest first with one row per change: a long-lived current price backs off
+        // exponentially, every price change inside the look-back window tightens
+        int unchangedStreak = 0;
+        int changes = 0;
+        if (!recentSegments.isEmpty()) {
+            PriceHistory current = recentSegments.getFirst();
+            if (!samePrice(newPrice, current.getPrice())) {
+                changes++;
+            } else if (current.getDetectedAt() != null) {
+                long stableMinutes = Duration.between(current.getDetectedAt(), checkedAt).toMinutes();
+                unchangedStreak = (int) Math.min(MAX_BACKOFF_STEPS, Math.max(0, stableMinutes / baseMinutes));
+            }
+
+            Instant lookbackStart = checkedAt.minus(Duration.ofMinutes(baseMinutes * historyWindow));
+            for (int i = 0; i + 1 < recentSegments.size(); i++) {
+                PriceHistory segment = recentSegments.get(i);
+                if (segment.getDetectedAt() == null || segment.getDetectedAt().isBefore(lookbackStart)) {
+                    break;
+                }
+                if (!samePrice(segment.getPrice(), recentSegments.get(i + 1).getPrice())) {
+                    changes++;
+                }
+            }
+        }
+
+        double minutes = baseMinutes * Math.pow(2, Math.min(unchangedStreak, MAX_BACKOFF_STEPS)) / (1 + changes);
+
+        if (isNearTarget(newPrice, targetPrice)) {
+            minutes /= 2;
+        }
+
+        long bounded = Math.max(minMinutes, Math.min(maxMinutes, Math.round(minutes)));
+        log.debug("Next scan in {} min (unchanged streak: {}, changes: {})", bounded, unchangedStreak, changes);
+        return Duration.ofMinutes(bounded);
+    }
+
+    private boolean isNearTarget(
+            BigDecimal price,
+            BigDecimal targetPrice
+    ) {
+
+        if (price == null || targetPrice == null) {
+            return false;
+        }
+        return price.compareTo(targetPrice.multiply(BigDecimal.ONE.add(nearTargetRatio))) <= 0;
+    }
+
+    private boolean samePrice(
+            BigDecimal first,
+            BigDecimal second
+    ) {
+        return first == null ? second == null : second != null && first.compareTo(second) == 0;
+    }
+}
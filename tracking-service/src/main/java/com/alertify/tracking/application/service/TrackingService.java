@@ -17,34 +17,71 @@
 package com.alertify.tracking.application.service;
 
 import com.alertify.common.exception.AccessDeniedException;
+import com.alertify.common.exception.InvalidRequestException;
 import com.alertify.common.exception.ResourceAlreadyExistsException;
 import com.alertify.common.exception.ResourceNotFoundException;
+import com.alertify.common.url.UrlCanonicalizer;
 import com.alertify.tracking.application.port.in.ScrapeResultsUseCase;
 import com.alertify.tracking.application.port.in.TrackingUseCase;
-import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.application.port.out.DispatchSchedulePort;
+import com.alertify.tracking.application.port.out.PriceRollupPort;
+import com.alertify.tracking.application.port.out.ProductPort;
+import com.alertify.tracking.application.port.out.ScrapeOutboxPort;
 import com.alertify.tracking.application.port.out.TrackingPort;
+import com.alertify.tracking.domain.model.PriceChart;
 import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.PriceResolution;
+import com.alertify.tracking.domain.model.PriceRollup;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScanBacklog;
+import com.alertify.tracking.domain.model.ScrapeResult;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
 
-    private final TrackingPort productPort;
-    private final ScrapePort scrapePort;
+    private static final List<PriceResolution> ROLLUP_RESOLUTIONS = List.of(PriceResolution.HOUR, PriceResolution.DAY);
+
+    private final TrackingPort trackingPort;
+    private final ProductPort productPort;
+    private final ScrapeOutboxPort scrapeOutboxPort;
+    private final DispatchSchedulePort dispatchSchedulePort;
+    private final ScanIntervalPolicy scanIntervalPolicy;
+    private final PriceRollupPort priceRollupPort;
+
+    @Value("${alertify.tracking.dispatch-lease-minutes:10}")
+    private long dispatchLeaseMinutes;
+
+    @Value("${alertify.tracking.history.raw-max-hours:48}")
+    private long rawHistoryMaxHours;
+
+    @Value("${alertify.tracking.history.hourly-max-days:14}")
+    private long hourlyHistoryMaxDays;
 
     @Override
     @Transactional
@@ -54,31 +91,52 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
             BigDecimal targetPrice
     ) {
 
-        TrackedProduct productToSave = productPort.findByUserIdAndUrl(userId, url)
-                .map(existingProduct -> {
-                    if (Boolean.TRUE.equals(existingProduct.getIsActive())) {
+        // every tracking of the same product shares one row, so it is scraped once however many users follow it;
+        // tracking params and mobile hosts are canonicalized away first so they cannot split that row
+        String canonicalUrl = UrlCanonicalizer.canonicalize(url);
+        Optional<Product> existingProduct = productPort.findByUrl(canonicalUrl);
+        Product product = existingProduct.orElseGet(() -> {
+            log.info("Registering new product for URL: {}", canonicalUrl);
+            Product newProduct = Product.builder()
+                    .url(canonicalUrl)
+                    .isActive(true)
+                    .build();
+            // the first scrape is sent right away, so keep the scheduler from sending it again
+            newProduct.markDispatched(Instant.now(), Duration.ofMinutes(dispatchLeaseMinutes));
+            return productPort.save(newProduct);
+        });
+
+        TrackedProduct trackingToSave = trackingPort.findByUserIdAndProductId(userId, product.getId())
+                .map(existingTracking -> {
+                    if (Boolean.TRUE.equals(existingTracking.getIsActive())) {
                         throw new ResourceAlreadyExistsException("Tracked Product", "url", url);
                     }
 
-                    existingProduct.setIsActive(true);
-                    existingProduct.setTargetPrice(targetPrice);
-                    log.info("Re-activating existing tracking for User: {} with Product ID: {}", userId, existingProduct.getId());
-                    return existingProduct;
+                    existingTracking.setIsActive(true);
+                    existingTracking.setTargetPrice(targetPrice);
+                    log.info("Re-activating existing tracking for User: {} with Tracking ID: {}", userId, existingTracking.getId());
+                    return existingTracking;
                 })
                 .orElseGet(() -> {
                     log.info("Creating new tracking for User: {} with URL: {}", userId, url);
                     return TrackedProduct.builder()
                             .userId(userId)
+                            .productId(product.getId())
                             .url(url)
                             .targetPrice(targetPrice)
                             .isActive(true)
                             .build();
                 });
 
-        TrackedProduct savedProduct = productPort.save(productToSave);
-        scrapePort.sendScrapeRequest(savedProduct.getId(), savedProduct.getUrl());
+        TrackedProduct savedTracking = trackingPort.save(trackingToSave);
 
-        return savedProduct;
+        if (existingProduct.isEmpty()) {
+            // written in this transaction and published by the outbox relay, so a broker outage cannot fail the create
+            scrapeOutboxPort.enqueue(product.getId(), product.getUrl());
+        }
+        activateProduct(product);
+
+        return savedTracking;
     }
 
     @Override
@@ -87,31 +145,48 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
             UUID userId,
             Pageable pageable
     ) {
-        return productPort.findAllByUserId(userId, pageable);
+        return trackingPort.findAllByUserId(userId, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<TrackedProduct> getProductsToScan(
-            Instant threshold,
+    public List<Product> getProductsToScan(
+            Instant now,
             Pageable pageable
     ) {
-        return productPort.findProductsToScan(threshold, pageable);
+        return productPort.findProductsToScan(now, pageable);
+    }
+
+    @Override
+    @Transactional
+    public List<Product> claimProductsToScan(
+            Duration lease,
+            Pageable pageable
+    ) {
+        return productPort.claimProductsToScan(lease, pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ScanBacklog getScanBacklog(
+            Instant now
+    ) {
+        return productPort.getScanBacklog(now);
     }
 
     @Override
     @Transactional
     public TrackedProduct updateTrackedProduct(
             UUID userId,
-            UUID productId,
+            UUID trackingId,
             BigDecimal targetPrice,
             Boolean isActive
     ) {
 
-        Optional<TrackedProduct> trackedProductOpt = productPort.findByProductId(productId);
+        Optional<TrackedProduct> trackedProductOpt = trackingPort.findById(trackingId);
 
         if (trackedProductOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Tracked Product", "id", productId.toString());
+            throw new ResourceNotFoundException("Tracked Product", "id", trackingId.toString());
         }
 
         TrackedProduct trackedProduct = trackedProductOpt.get();
@@ -125,21 +200,23 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
             trackedProduct.setIsActive(isActive);
         }
 
-        log.info("Product updated: {}", productId);
-        return productPort.save(trackedProduct);
+        log.info("Tracking updated: {}", trackingId);
+        TrackedProduct savedProduct = trackingPort.save(trackedProduct);
+        syncProductActivity(savedProduct.getProductId());
+        return savedProduct;
     }
 
     @Override
     @Transactional
     public void deleteTrackedProduct(
-            UUID productId,
+            UUID trackingId,
             UUID userId
     ) {
 
-        Optional<TrackedProduct> trackedProductOpt = productPort.findByProductId(productId);
+        Optional<TrackedProduct> trackedProductOpt = trackingPort.findById(trackingId);
 
         if (trackedProductOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Tracked Product", "id", productId.toString());
+            throw new ResourceNotFoundException("Tracked Product", "id", trackingId.toString());
         }
 
         TrackedProduct trackedProduct = trackedProductOpt.get();
@@ -149,22 +226,75 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
         }
 
         trackedProduct.setIsActive(false);
-        productPort.save(trackedProduct);
-        log.info("Product soft-deleted: {}", productId);
+        trackingPort.save(trackedProduct);
+        syncProductActivity(trackedProduct.getProductId());
+        log.info("Tracking soft-deleted: {}", trackingId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<PriceHistory> getPriceHistory(
-            UUID productId,
+            UUID trackingId,
             UUID userId,
             Pageable pageable
     ) {
 
-        Optional<TrackedProduct> trackedProductOpt = productPort.findByProductId(productId);
+        Optional<TrackedProduct> trackedProductOpt = trackingPort.findById(trackingId);
+
+        if (trackedProductOpt.isEmpty()) {
+            throw new ResourceNotFoundException("Tracked Product", "id", trackingId.toString());
+        }
+
+        TrackedProduct trackedProduct = trackedProductOpt.get();
+
+        if (!trackedProduct.getUserId().equals(userId)) {
+            throw new AccessDeniedException("You do not have permission to view the price history of this product.");
+        }
+
+        return productPort.findPriceHistoryByProductId(trackedProduct.getProductId(), pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceHistory getPriceAt(
+            UUID trackingId,
+            UUID userId,
+            Instant at
+    ) {
+
+        Optional<TrackedProduct> trackedProductOpt = trackingPort.findById(trackingId);
+
+        if (trackedProductOpt.isEmpty()) {
+            throw new ResourceNotFoundException("Tracked Product", "id", trackingId.toString());
+        }
+
+        TrackedProduct trackedProduct = trackedProductOpt.get();
+
+        if (!trackedProduct.getUserId().equals(userId)) {
+            throw new AccessDeniedException("You do not have permission to view the price history of this product.");
+        }
+
+        return productPort.findPriceHistoryAt(trackedProduct.getProductId(), at)
+                .orElseThrow(() -> new ResourceNotFoundException("Price History", "time", at.toString()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PriceChart getPriceChart(
+            UUID trackingId,
+            UUID userId,
+            Instant from,
+            Instant to
+    ) {
+
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("The history range must start before it ends.");
+        }
+
+        Optional<TrackedProduct> trackedProductOpt = trackingPort.findById(trackingId);
 
         if (trackedProductOpt.isEmpty()) {
-            throw new ResourceNotFoundException("Tracked Product", "id", productId.toString());
+            throw new ResourceNotFoundException("Tracked Product", "id", trackingId.toString());
         }
 
         TrackedProduct trackedProduct = trackedProductOpt.get();
@@ -173,7 +303,35 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
             throw new AccessDeniedException("You do not have permission to view the price history of this product.");
         }
 
-        return productPort.findPriceHistoryByProductId(productId, pageable);
+        UUID productId = trackedProduct.getProductId();
+        PriceResolution resolution = resolutionFor(Duration.between(from, to));
+
+        if (resolution != PriceResolution.RAW) {
+            List<PriceRollup> rollups = priceRollupPort.findRollups(productId, resolution, resolution.bucketStart(from), to);
+            return new PriceChart(resolution, List.of(), rollups);
+        }
+
+        // the segment already in effect at the start of the range leads the chart
+        List<PriceHistory> segments = new ArrayList<>();
+        productPort.findPriceHistoryAt(productId, from)
+                .filter(segment -> segment.getDetectedAt().isBefore(from))
+                .ifPresent(segments::add);
+        segments.addAll(productPort.findPriceHistoryBetween(productId, from, to));
+        return new PriceChart(resolution, segments, List.of());
+    }
+
+    private PriceResolution resolutionFor(
+            Duration range
+    ) {
+
+        // keeps a chart in the low hundreds of points: 48 hours of segments, 14 days of hours, days beyond
+        if (range.compareTo(Duration.ofHours(rawHistoryMaxHours)) <= 0) {
+            return PriceResolution.RAW;
+        }
+        if (range.compareTo(Duration.ofDays(hourlyHistoryMaxDays)) <= 0) {
+            return PriceResolution.HOUR;
+        }
+        return PriceResolution.DAY;
     }
 
     @Override
@@ -189,23 +347,170 @@ public class TrackingService implements TrackingUseCase, ScrapeResultsUseCase {
 
         log.info("Processing scrape result for Product ID: {}", productId);
 
-        Optional<TrackedProduct> trackedProductOpt = productPort.findByProductId(productId);
+        Optional<Product> productOpt = productPort.findById(productId);
 
-        if (trackedProductOpt.isEmpty()) {
+        if (productOpt.isEmpty()) {
             log.error("Scraper returned an unknown Product ID: {}. Skipping update.", productId);
+            // otherwise the parked lease entry of a deleted product keeps re-dispatching it
+            dispatchSchedulePort.cancel(productId);
             return false;
         }
 
-        TrackedProduct trackedProduct = trackedProductOpt.get();
+        Product product = productOpt.get();
+        PriceHistory priceHistory = applyScrapeResult(
+                product,
+                new ScrapeResult(productId, productName, price, inStock, currency, checkedAt),
+                trackingPort.findHighestActiveTargetPrices(List.of(productId)).get(productId),
+                productPort.findPriceHistoryByProductId(productId, PageRequest.of(0, scanIntervalPolicy.getHistoryWindow()))
+        );
+
+        productPort.recordPriceCheck(product, priceHistory);
+        if (isSellingPrice(price, inStock)) {
+            priceRollupPort.accumulate(observe(productId, price, checkedAt).values());
+        }
+        if (Boolean.TRUE.equals(product.getIsActive())) {
+            dispatchSchedulePort.schedule(productId, product.getUrl(), product.getNextCheckAt());
+        }
+        log.info("Price updated successfully for Product ID: {}. New Price: {} {}", productId, price, currency);
+        return true;
+    }
+
+    @Override
+    @Transactional
+    public int handleScrapeResults(
+            List<ScrapeResult> results
+    ) {
+
+        if (results.isEmpty()) {
+            return 0;
+        }
 
-        trackedProduct.setProductName(productName);
-        trackedProduct.setInStock(inStock);
-        trackedProduct.setCurrency(currency);
+        Set<UUID> productIds = results.stream().map(ScrapeResult::productId).collect(Collectors.toSet());
+        Map<UUID, Product> products = productPort.findAllByIds(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+        Map<UUID, List<PriceHistory>> recentHistory = productPort.findRecentPriceHistory(productIds, scanIntervalPolicy.getHistoryWindow());
+        Map<UUID, BigDecimal> targetPrices = trackingPort.findHighestActiveTargetPrices(productIds);
+
+        Map<UUID, Product> updatedProducts = new LinkedHashMap<>();
+        // identity, not equals: a segment is mutated when a later result in the batch confirms it again
+        Set<PriceHistory> touchedSegments = Collections.newSetFromMap(new IdentityHashMap<>());
+        // merged per bucket first, so a batch costs one upsert per product and bucket rather than per result
+        Map<RollupKey, PriceRollup> rollups = new LinkedHashMap<>();
+        int applied = 0;
+
+        for (ScrapeResult result : results) {
+            Product product = products.get(result.productId());
+            if (product == null) {
+                log.error("Scraper returned an unknown Product ID: {}. Skipping update.", result.productId());
+                dispatchSchedulePort.cancel(result.productId());
+                continue;
+            }
+
+            // a product can appear twice in one batch, so later results see the earlier ones as history
+            List<PriceHistory> history = recentHistory.computeIfAbsent(result.productId(), id -> new ArrayList<>());
+            PriceHistory segment = applyScrapeResult(product, result, targetPrices.get(product.getId()), history);
+            if (history.isEmpty() || history.getFirst() != segment) {
+                history.addFirst(segment);
+            }
+
+            touchedSegments.add(segment);
+            updatedProducts.put(product.getId(), product);
+            if (isSellingPrice(result.price(), result.inStock())) {
+                observe(product.getId(), result.price(), result.checkedAt()).forEach((key, rollup) -> rollups.merge(key, rollup, PriceRollup::merge));
+            }
+            applied++;
+        }
 
-        trackedProduct.updatePrice(price, checkedAt);
+        productPort.recordPriceChecks(updatedProducts.values(), touchedSegments);
+        priceRollupPort.accumulate(rollups.values());
+        updatedProducts.values().stream()
+                .filter(product -> Boolean.TRUE.equals(product.getIsActive()))
+                .forEach(product -> dispatchSchedulePort.schedule(product.getId(), product.getUrl(), product.getNextCheckAt()));
 
-        productPort.save(trackedProduct);
-        log.info("Price updated successfully for Product ID: {}. New Price: {} {}", productId, price, currency);
-        return true;
+        log.info("Processed {} scrape results, {} products updated", results.size(), updatedProducts.size());
+        return applied;
+    }
+
+    private PriceHistory applyScrapeResult(
+            Product product,
+            ScrapeResult result,
+            BigDecimal targetPrice,
+            List<PriceHistory> recentHistory
+    ) {
+
+        boolean stockChanged = product.getInStock() != null && !product.getInStock().equals(result.inStock());
+
+        Duration nextInterval = scanIntervalPolicy.nextInterval(
+                result.price(),
+                targetPrice,
+                stockChanged,
+                result.checkedAt(),
+                recentHistory
+        );
+
+        product.setProductName(result.productName());
+        product.setCurrency(result.currency());
+
+        PriceHistory currentSegment = recentHistory.isEmpty() ? null : recentHistory.getFirst();
+        return product.updatePrice(result.price(), result.inStock(), result.checkedAt(), nextInterval, currentSegment);
+    }
+
+    // sold-out pages report no or a zero price, which would drag the chart's min and average down
+    private static boolean isSellingPrice(
+            BigDecimal price,
+            Boolean inStock
+    ) {
+        return Boolean.TRUE.equals(inStock) && price != null && price.signum() > 0;
+    }
+
+    private Map<RollupKey, PriceRollup> observe(
+            UUID productId,
+            BigDecimal price,
+            Instant checkedAt
+    ) {
+
+        Map<RollupKey, PriceRollup> rollups = new LinkedHashMap<>();
+        for (PriceResolution resolution : ROLLUP_RESOLUTIONS) {
+            PriceRollup rollup = PriceRollup.observe(productId, resolution, price, checkedAt);
+            rollups.put(new RollupKey(productId, resolution, rollup.getBucketStart()), rollup);
+        }
+        return rollups;
+    }
+
+    private void activateProduct(
+            Product product
+    ) {
+
+        if (!Boolean.TRUE.equals(product.getIsActive())) {
+            productPort.updateActivity(product.getId(), true);
+            product.setIsActive(true);
+        }
+        dispatchSchedulePort.schedule(product.getId(), product.getUrl(), product.getNextCheckAt());
+    }
+
+    private void syncProductActivity(
+            UUID productId
+    ) {
+
+        // a product stays scheduled while any of its trackings is active
+        Product product = productPort.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product", "id", productId.toString()));
+
+        if (trackingPort.hasActiveTrackings(productId)) {
+            activateProduct(product);
+            return;
+        }
+
+        if (Boolean.TRUE.equals(product.getIsActive())) {
+            productPort.updateActivity(productId, false);
+        }
+        dispatchSchedulePort.cancel(productId);
+    }
+
+    private record RollupKey(
+            UUID productId,
+            PriceResolution resolution,
+            Instant bucketStart
+    ) {
     }
-}
\ No newline at end of file
+}
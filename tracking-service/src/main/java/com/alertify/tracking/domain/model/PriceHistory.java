@@ -23,6 +23,7 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Objects;
 import java.util.UUID;
 
 @Data
@@ -34,5 +35,28 @@ public class PriceHistory {
     private UUID id;
     private UUID productId;
     private BigDecimal price;
+    private Boolean inStock;
+
+    // one row per price/stock segment: detectedAt is when the state first appeared, lastConfirmedAt the latest
+    // scrape that still saw it, so the state is exact on [detectedAt, lastConfirmedAt]
     private Instant detectedAt;
+    private Instant lastConfirmedAt;
+
+    public boolean matches(
+            BigDecimal price,
+            Boolean inStock
+    ) {
+
+        boolean samePrice = this.price == null ? price == null : price != null && this.price.compareTo(price) == 0;
+        return samePrice && Objects.equals(this.inStock, inStock);
+    }
+
+    public void confirm(
+            Instant confirmedAt
+    ) {
+
+        if (lastConfirmedAt == null || confirmedAt.isAfter(lastConfirmedAt)) {
+            lastConfirmedAt = confirmedAt;
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceRollup {
+
+    private UUID productId;
+    private PriceResolution resolution;
+    private Instant bucketStart;
+    private BigDecimal openPrice;
+    private BigDecimal closePrice;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private BigDecimal priceSum;
+    private long sampleCount;
+    private Instant firstAt;
+    private Instant lastAt;
+
+    public static PriceRollup observe(
+            UUID productId,
+            PriceResolution resolution,
+            BigDecimal price,
+            Instant at
+    ) {
+        return PriceRollup.builder()
+                .productId(productId)
+                .resolution(resolution)
+                .bucketStart(resolution.bucketStart(at))
+                .openPrice(price)
+                .closePrice(price)
+                .minPrice(price)
+                .maxPrice(price)
+                .priceSum(price)
+                .sampleCount(1)
+                .firstAt(at)
+                .lastAt(at)
+                .build();
+    }
+
+    // same merge as the upsert in the database, so partial rollups can be combined before they are written
+    public PriceRollup merge(
+            PriceRollup other
+    ) {
+
+        if (other.firstAt.isBefore(firstAt)) {
+            openPrice = other.openPrice;
+            firstAt = other.firstAt;
+        }
+        if (!other.lastAt.isBefore(lastAt)) {
+            closePrice = other.closePrice;
+            lastAt = other.lastAt;
+        }
+        minPrice = minPrice.min(other.minPrice);
+        maxPrice = maxPrice.max(other.maxPrice);
+        priceSum = priceSum.add(other.priceSum);
+        sampleCount += other.sampleCount;
+        return this;
+    }
+
+    public BigDecimal getAveragePrice() {
+        return sampleCount == 0 ? null : priceSum.divide(BigDecimal.valueOf(sampleCount), 2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Product {
+
+    private UUID id;
+    private String url;
+    private String productName;
+    private BigDecimal currentPrice;
+    private Boolean inStock;
+    private String currency;
+    private Boolean isActive;
+    private Instant createdAt;
+    private Instant updatedAt;
+    private Instant lastCheckedAt;
+    private Instant nextCheckAt;
+    private Instant dispatchedAt;
+
+    public void markDispatched(
+            Instant dispatchedAt,
+            Duration lease
+    ) {
+        // the due time doubles as the lease: if no result arrives in time the product becomes due again
+        this.dispatchedAt = dispatchedAt;
+        this.nextCheckAt = dispatchedAt.plus(lease);
+    }
+
+    public PriceHistory updatePrice(
+            BigDecimal newPrice,
+            Boolean inStock,
+            Instant detectedAt,
+            Duration checkInterval,
+            PriceHistory currentSegment
+    ) {
+
+        this.currentPrice = newPrice;
+        this.inStock = inStock;
+        this.lastCheckedAt = detectedAt;
+        this.nextCheckAt = detectedAt.plus(checkInterval);
+
+        // an unchanged observation only extends the current segment; a new row is written on a transition
+        if (currentSegment != null && currentSegment.matches(newPrice, inStock)) {
+            currentSegment.confirm(detectedAt);
+            return currentSegment;
+        }
+
+        return PriceHistory.builder()
+                .id(null)
+                .productId(this.id)
+                .price(newPrice)
+                .inStock(inStock)
+                .detectedAt(detectedAt)
+                .lastConfirmedAt(detectedAt)
+                .build();
+    }
+}
@@ -23,8 +23,6 @@ import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.List;
 import java.util.UUID;
 
 @Data
@@ -35,37 +33,17 @@ public class TrackedProduct {
 
     private UUID id;
     private UUID userId;
+    private UUID productId;
     private String url;
-    private String productName;
-    private BigDecimal currentPrice;
-    private Boolean inStock;
-    private String currency;
     private BigDecimal targetPrice;
     private Boolean isActive;
     private Instant createdAt;
     private Instant updatedAt;
-    private Instant lastCheckedAt;
-
-    @Builder.Default
-    private List<PriceHistory> priceHistory = new ArrayList<>();
-
-    public void updatePrice(
-            BigDecimal newPrice,
-            Instant detectedAt
-    ) {
 
-        PriceHistory history = PriceHistory.builder()
-                .id(null)
-                .productId(this.id)
-                .price(newPrice)
-                .detectedAt(detectedAt)
-                .build();
-        if (this.priceHistory == null) {
-            this.priceHistory = new ArrayList<>();
-        }
-        this.priceHistory.add(history);
-
-        this.currentPrice = newPrice;
-        this.lastCheckedAt = detectedAt;
-    }
+    // read from the shared product, never written through a tracking
+    private String productName;
+    private BigDecimal currentPrice;
+    private Boolean inStock;
+    private String currency;
+    private Instant lastCheckedAt;
 }
@@ -0,0 +1,121 @@
+-- Runs after Hibernate's ddl-auto update (spring.jpa.defer-datasource-initialization).
+
+-- Databases from before the shared product catalog still carry the scrape state on tracked_products.
+-- Fold those rows into one product per URL, move the history over and drop the per-tracking columns.
+-- The body is single-quoted because the script splitter does not understand dollar quoting.
+DO '
+DECLARE
+    legacy_fk record;
+    next_check_at_expr text := ''now()'';
+    dispatched_at_expr text := ''NULL::timestamp(6) with time zone'';
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = ''tracked_products'' AND column_name = ''current_price'') THEN
+        RETURN;
+    END IF;
+
+    -- the scheduling columns only exist on databases that ran the per-tracking scheduler, not on the original shape
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = ''tracked_products'' AND column_name = ''next_check_at'') THEN
+        next_check_at_expr := ''COALESCE(t.next_check_at, now())'';
+    END IF;
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = ''tracked_products'' AND column_name = ''dispatched_at'') THEN
+        dispatched_at_expr := ''t.dispatched_at'';
+    END IF;
+
+    EXECUTE format(
+        ''INSERT INTO products (id, url, url_hash, product_name, current_price, in_stock, currency, is_active,
+                               created_at, updated_at, last_checked_at, next_check_at, dispatched_at)
+          SELECT DISTINCT ON (t.url)
+                 gen_random_uuid(), t.url, md5(t.url)::uuid, t.product_name, t.current_price, t.in_stock, t.currency,
+                 bool_or(t.is_active) OVER (PARTITION BY t.url),
+                 t.created_at, t.updated_at, t.last_checked_at, %s, %s
+          FROM tracked_products t
+          ORDER BY t.url, t.last_checked_at DESC NULLS LAST
+          ON CONFLICT (url_hash) DO NOTHING'',
+        next_check_at_expr, dispatched_at_expr
+    );
+
+    UPDATE tracked_products t
+    SET product_id = p.id
+    FROM products p
+    WHERE t.product_id IS NULL AND p.url_hash = md5(t.url)::uuid;
+
+    FOR legacy_fk IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = ''price_history''::regclass AND confrelid = ''tracked_products''::regclass
+    LOOP
+        EXECUTE format(''ALTER TABLE price_history DROP CONSTRAINT %I'', legacy_fk.conname);
+    END LOOP;
+
+    UPDATE price_history h
+    SET product_id = t.product_id
+    FROM tracked_products t
+    WHERE h.product_id = t.id;
+
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''fk_price_history_product'') THEN
+        ALTER TABLE price_history
+            ADD CONSTRAINT fk_price_history_product FOREIGN KEY (product_id) REFERENCES products (id);
+    END IF;
+
+    ALTER TABLE tracked_products
+        DROP CONSTRAINT IF EXISTS uc_tracked_product_userid_url,
+        DROP COLUMN IF EXISTS product_name,
+        DROP COLUMN IF EXISTS current_price,
+        DROP COLUMN IF EXISTS in_stock,
+        DROP COLUMN IF EXISTS currency,
+        DROP COLUMN IF EXISTS last_checked_at,
+        DROP COLUMN IF EXISTS next_check_at,
+        DROP COLUMN IF EXISTS dispatched_at;
+END
+';
+
+-- The due scan only ever looks at products someone still tracks, so index just those in due order.
+CREATE INDEX IF NOT EXISTS idx_products_active_next_check
+    ON products (next_check_at, id)
+    WHERE is_active = true;
+
+-- Products keyed by the full URL before url_hash existed: fill the hash in the same form the application
+-- writes (the raw MD5 digest read as a uuid), then drop the varchar unique index it replaces.
+UPDATE products SET url_hash = md5(url)::uuid WHERE url_hash IS NULL;
+
+ALTER TABLE products ALTER COLUMN url_hash SET NOT NULL;
+
+ALTER TABLE products DROP CONSTRAINT IF EXISTS uc_product_url;
+
+-- History written before change points stored one row per observation. Collapse each run of the same price
+-- into its first row, stretched to the last observation of the run, and drop the repeats. The new layout always
+-- writes last_confirmed_at, so making the column NOT NULL afterwards marks the collapse as done for later boots.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = ''price_history'' AND column_name = ''last_confirmed_at'' AND is_nullable = ''YES'') THEN
+        RETURN;
+    END IF;
+
+    UPDATE price_history h
+    SET last_confirmed_at = runs.last_seen
+    FROM (
+        SELECT id,
+               ROW_NUMBER() OVER (PARTITION BY product_id, run ORDER BY detected_at) AS position,
+               MAX(detected_at) OVER (PARTITION BY product_id, run) AS last_seen
+        FROM (
+            SELECT id, product_id, detected_at,
+                   SUM(CASE WHEN price IS DISTINCT FROM previous_price THEN 1 ELSE 0 END)
+                       OVER (PARTITION BY product_id ORDER BY detected_at) AS run
+            FROM (
+                SELECT id, product_id, price, detected_at,
+                       LAG(price) OVER (PARTITION BY product_id ORDER BY detected_at) AS previous_price
+                FROM price_history
+                WHERE last_confirmed_at IS NULL
+            ) observations
+        ) numbered
+    ) runs
+    WHERE h.id = runs.id AND runs.position = 1;
+
+    DELETE FROM price_history WHERE last_confirmed_at IS NULL;
+
+    ALTER TABLE price_history ALTER COLUMN last_confirmed_at SET NOT NULL;
+END
+';
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.messaging;
+
+import com.alertify.common.event.PriceScrapeCompletedEvent;
+import com.alertify.common.infrastructure.config.RabbitMQConfig;
+import com.alertify.tracking.application.port.in.ScrapeResultsUseCase;
+import com.alertify.tracking.domain.model.ScrapeResult;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ScrapeCompletedBatchConsumerTest {
+
+    @InjectMocks
+    private ScrapeCompletedBatchConsumer consumer;
+
+    @Mock
+    private ScrapeResultsUseCase useCase;
+
+    @Mock
+    private RabbitTemplate rabbitTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_Handle_Whole_Batch_In_One_Call() {
+
+        PriceScrapeCompletedEvent first = event(UUID.randomUUID());
+        PriceScrapeCompletedEvent second = event(UUID.randomUUID());
+        when(useCase.handleScrapeResults(any())).thenReturn(2);
+
+        consumer.consumeScrapeResults(List.of(first, second));
+
+        ArgumentCaptor<List<ScrapeResult>> captor = ArgumentCaptor.forClass(List.class);
+        verify(useCase).handleScrapeResults(captor.capture());
+        assertEquals(List.of(first.getProductId(), second.getProductId()),
+                captor.getValue().stream().map(ScrapeResult::productId).toList());
+        verify(useCase, never()).handleScrapeResult(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void should_Fall_Back_To_Single_Updates_When_Batch_Fails() {
+
+        PriceScrapeCompletedEvent good = event(UUID.randomUUID());
+        PriceScrapeCompletedEvent bad = event(UUID.randomUUID());
+        when(useCase.handleScrapeResults(any())).thenThrow(new RuntimeException("constraint violation"));
+        when(useCase.handleScrapeResult(eq(good.getProductId()), any(), any(), any(), any(), any())).thenReturn(true);
+        when(useCase.handleScrapeResult(eq(bad.getProductId()), any(), any(), any(), any(), any()))
+                .thenThrow(new RuntimeException("constraint violation"));
+
+        assertDoesNotThrow(() -> consumer.consumeScrapeResults(List.of(good, bad)));
+
+        verify(useCase).handleScrapeResult(eq(good.getProductId()), any(), any(), any(), any(), any());
+        verify(useCase).handleScrapeResult(eq(bad.getProductId()), any(), any(), any(), any(), any());
+        verify(rabbitTemplate).convertAndSend(RabbitMQConfig.DLQ_EXCHANGE_NAME, RabbitMQConfig.DLQ_ROUTING_KEY, bad);
+        verify(rabbitTemplate, never()).convertAndSend(RabbitMQConfig.DLQ_EXCHANGE_NAME, RabbitMQConfig.DLQ_ROUTING_KEY, good);
+    }
+
+    private PriceScrapeCompletedEvent event(
+            UUID productId
+    ) {
+        return new PriceScrapeCompletedEvent(
+                productId,
+                "https://www.trendyol.com/urun",
+                "PlayStation 5",
+                true,
+                new BigDecimal("20000"),
+                "TRY",
+                Instant.now()
+        );
+    }
+}
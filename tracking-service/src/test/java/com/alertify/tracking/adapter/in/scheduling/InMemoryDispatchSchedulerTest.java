@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.in.scheduling;
+
+import com.alertify.tracking.application.port.out.ProductPort;
+import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.domain.model.Product;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InMemoryDispatchSchedulerTest {
+
+    @InjectMocks
+    private InMemoryDispatchScheduler scheduler;
+
+    @Mock
+    private ProductPort productPort;
+
+    @Mock
+    private ScrapePort scrapePort;
+
+    private final Product dueProduct = Product.builder()
+            .id(UUID.randomUUID())
+            .url("https://site.com/due")
+            .nextCheckAt(Instant.now().minusSeconds(60))
+            .build();
+
+    private final Product laterProduct = Product.builder()
+            .id(UUID.randomUUID())
+            .url("https://site.com/later")
+            .nextCheckAt(Instant.now().plus(Duration.ofHours(1)))
+            .build();
+
+    @BeforeEach
+    void setUp() {
+
+        ReflectionTestUtils.setField(scheduler, "dispatchLeaseMinutes", 10L);
+        when(productPort.findActiveProducts(any(Pageable.class))).thenReturn(List.of(dueProduct, laterProduct));
+        scheduler.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    void should_Dispatch_Only_Due_Products_Loaded_At_Startup() {
+
+        verify(scrapePort, timeout(1000)).sendScrapeRequest(dueProduct.getId(), dueProduct.getUrl());
+        verify(scrapePort, after(200).never()).sendScrapeRequest(laterProduct.getId(), laterProduct.getUrl());
+        assertEquals(2, scheduler.size());
+    }
+
+    @Test
+    void should_Dispatch_When_Rescheduled_Earlier() {
+
+        scheduler.schedule(laterProduct.getId(), laterProduct.getUrl(), Instant.now());
+
+        verify(scrapePort, timeout(1000)).sendScrapeRequest(laterProduct.getId(), laterProduct.getUrl());
+    }
+
+    @Test
+    void should_Not_Dispatch_Cancelled_Product() {
+
+        UUID id = UUID.randomUUID();
+        scheduler.schedule(id, "https://site.com/cancelled", Instant.now().plusMillis(100));
+        scheduler.cancel(id);
+
+        verify(scrapePort, after(300).never()).sendScrapeRequest(eq(id), any());
+    }
+
+    @Test
+    void should_Apply_Changes_Only_After_Commit() {
+
+        UUID committed = UUID.randomUUID();
+        UUID rolledBack = UUID.randomUUID();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.schedule(committed, "https://site.com/committed", Instant.now());
+            assertEquals(2, scheduler.size());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            scheduler.schedule(rolledBack, "https://site.com/rolled-back", Instant.now());
+            scheduler.cancel(laterProduct.getId());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(scrapePort, timeout(1000)).sendScrapeRequest(committed, "https://site.com/committed");
+        verify(scrapePort, after(200).never()).sendScrapeRequest(eq(rolledBack), any());
+        assertEquals(3, scheduler.size());
+    }
+}
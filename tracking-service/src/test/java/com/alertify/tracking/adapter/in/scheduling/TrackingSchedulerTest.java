@@ -18,21 +18,26 @@ package com.alertify.tracking.adapter.in.scheduling;
 
 import com.alertify.tracking.application.port.in.TrackingUseCase;
 import com.alertify.tracking.application.port.out.ScrapePort;
-import com.alertify.tracking.domain.model.TrackedProduct;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScanBacklog;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
@@ -51,65 +56,110 @@ class TrackingSchedulerTest {
     @BeforeEach
     void setUp() {
 
-        ReflectionTestUtils.setField(scheduler, "scanIntervalMinutes", 30);
         ReflectionTestUtils.setField(scheduler, "batchSize", 10);
+        ReflectionTestUtils.setField(scheduler, "tickBudget", 25);
+        ReflectionTestUtils.setField(scheduler, "dispatchLeaseMinutes", 10L);
     }
 
     @Test
     void should_DoNothing_When_NoProductsToScan() {
 
-        when(trackingUseCase.getProductsToScan(any(Instant.class), any(Pageable.class)))
+        when(trackingUseCase.claimProductsToScan(any(Duration.class), any(Pageable.class)))
                 .thenReturn(Collections.emptyList());
 
         scheduler.scheduleScraping();
 
-        verify(scrapePort, never()).sendScrapeRequest(any(), any());
+        verify(scrapePort, never()).sendScrapeRequests(any());
     }
 
     @Test
     void should_SendScrapeRequests_When_ProductsFound() {
 
-        TrackedProduct product1 = TrackedProduct.builder()
+        Product product1 = Product.builder()
                 .id(UUID.randomUUID())
                 .url("https://site.com/p1")
                 .build();
 
-        TrackedProduct product2 = TrackedProduct.builder()
+        Product product2 = Product.builder()
                 .id(UUID.randomUUID())
                 .url("https://site.com/p2")
                 .build();
 
-        when(trackingUseCase.getProductsToScan(any(Instant.class), any(Pageable.class)))
+        when(trackingUseCase.claimProductsToScan(any(Duration.class), any(Pageable.class)))
                 .thenReturn(List.of(product1, product2));
 
         scheduler.scheduleScraping();
 
-        verify(scrapePort, times(1)).sendScrapeRequest(product1.getId(), product1.getUrl());
-        verify(scrapePort, times(1)).sendScrapeRequest(product2.getId(), product2.getUrl());
+        verify(scrapePort, times(1)).sendScrapeRequests(List.of(product1, product2));
     }
 
     @Test
-    void should_ContinueProcessing_When_OneRequestFails() {
+    void should_ContinueProcessing_When_BatchPublishFails() {
 
-        TrackedProduct product1 = TrackedProduct.builder()
+        Product product1 = Product.builder()
                 .id(UUID.randomUUID())
                 .url("https://site.com/p1")
                 .build();
 
-        TrackedProduct product2 = TrackedProduct.builder()
+        Product product2 = Product.builder()
                 .id(UUID.randomUUID())
                 .url("https://site.com/p2")
                 .build();
 
-        when(trackingUseCase.getProductsToScan(any(Instant.class), any(Pageable.class)))
+        List<Product> fullBatch = IntStream.range(0, 10)
+                .mapToObj(i -> Product.builder().id(UUID.randomUUID()).url("https://site.com/p" + i).build())
+                .toList();
+
+        when(trackingUseCase.claimProductsToScan(any(Duration.class), any(Pageable.class)))
+                .thenReturn(fullBatch)
                 .thenReturn(List.of(product1, product2));
 
         doThrow(new RuntimeException("Queue Error"))
-                .when(scrapePort).sendScrapeRequest(product1.getId(), product1.getUrl());
+                .when(scrapePort).sendScrapeRequests(fullBatch);
+
+        scheduler.scheduleScraping();
+
+        verify(scrapePort).sendScrapeRequests(fullBatch);
+        verify(scrapePort).sendScrapeRequests(List.of(product1, product2));
+    }
+
+    @Test
+    void should_Claim_Batches_Until_Budget_And_Report_Backlog() {
+
+        List<Product> fullBatch = IntStream.range(0, 10)
+                .mapToObj(i -> Product.builder().id(UUID.randomUUID()).url("https://site.com/p" + i).build())
+                .toList();
+
+        when(trackingUseCase.claimProductsToScan(any(Duration.class), any(Pageable.class)))
+                .thenReturn(fullBatch)
+                .thenReturn(fullBatch)
+                .thenReturn(fullBatch.subList(0, 5));
+        when(trackingUseCase.getScanBacklog(any(Instant.class)))
+                .thenReturn(new ScanBacklog(40, Instant.now().minus(Duration.ofHours(2))));
+
+        scheduler.scheduleScraping();
+
+        ArgumentCaptor<Pageable> pageCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(trackingUseCase, times(3)).claimProductsToScan(any(Duration.class), pageCaptor.capture());
+        assertEquals(List.of(10, 10, 5), pageCaptor.getAllValues().stream().map(Pageable::getPageSize).toList());
+        verify(scrapePort, times(3)).sendScrapeRequests(any());
+        verify(trackingUseCase).getScanBacklog(any(Instant.class));
+    }
+
+    @Test
+    void should_Stop_When_Batch_Is_Not_Full() {
+
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .url("https://site.com/p1")
+                .build();
+
+        when(trackingUseCase.claimProductsToScan(any(Duration.class), any(Pageable.class)))
+                .thenReturn(List.of(product));
 
         scheduler.scheduleScraping();
 
-        verify(scrapePort).sendScrapeRequest(product1.getId(), product1.getUrl());
-        verify(scrapePort).sendScrapeRequest(product2.getId(), product2.getUrl());
+        verify(trackingUseCase, times(1)).claimProductsToScan(any(Duration.class), any(Pageable.class));
+        verify(trackingUseCase, never()).getScanBacklog(any());
     }
-}
\ No newline at end of file
+}
@@ -23,7 +23,11 @@ import com.alertify.common.rest.GlobalExceptionHandler;
 import com.alertify.tracking.adapter.in.web.dto.request.CreateTrackingRequest;
 import com.alertify.tracking.adapter.in.web.dto.request.UpdateTrackingRequest;
 import com.alertify.tracking.application.port.in.TrackingUseCase;
+import com.alertify.tracking.domain.model.PriceChart;
 import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.PriceResolution;
+import com.alertify.tracking.domain.model.PriceRollup;
+import com.alertify.tracking.domain.model.Product;
 import com.alertify.tracking.domain.model.TrackedProduct;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -280,8 +284,8 @@ public class TrackingControllerTest {
         UUID userId = UUID.randomUUID();
 
         List<PriceHistory> historyList = List.of(
-                new PriceHistory(UUID.randomUUID(), productId, BigDecimal.valueOf(100), Instant.now().minusSeconds(3600)),
-                new PriceHistory(UUID.randomUUID(), productId, BigDecimal.valueOf(110), Instant.now())
+                PriceHistory.builder().id(UUID.randomUUID()).productId(productId).price(BigDecimal.valueOf(100)).detectedAt(Instant.now().minusSeconds(3600)).build(),
+                PriceHistory.builder().id(UUID.randomUUID()).productId(productId).price(BigDecimal.valueOf(110)).detectedAt(Instant.now()).build()
         );
 
         when(trackingUseCase.getPriceHistory(eq(productId), eq(userId), any(Pageable.class)))
@@ -298,14 +302,66 @@ public class TrackingControllerTest {
                 .andExpect(jsonPath("$[1].price").value(110));
     }
 
+    @Test
+    void shouldReturnRollups_WhenHistoryRangeRequested() throws Exception {
+
+        UUID productId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Instant from = Instant.parse("2026-07-01T00:00:00Z");
+        Instant to = Instant.parse("2026-10-01T00:00:00Z");
+
+        PriceRollup day = PriceRollup.observe(productId, PriceResolution.DAY, BigDecimal.valueOf(120), Instant.parse("2026-07-01T09:00:00Z"))
+                .merge(PriceRollup.observe(productId, PriceResolution.DAY, BigDecimal.valueOf(100), Instant.parse("2026-07-01T21:00:00Z")));
+
+        when(trackingUseCase.getPriceChart(productId, userId, from, to))
+                .thenReturn(new PriceChart(PriceResolution.DAY, List.of(), List.of(day)));
+
+        mockMvc.perform(get("/api/v1/trackings/{productId}/history", productId)
+                        .param("userId", userId.toString())
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.resolution").value("DAY"))
+                .andExpect(jsonPath("$.points.length()").value(1))
+                .andExpect(jsonPath("$.points[0].openPrice").value(120))
+                .andExpect(jsonPath("$.points[0].closePrice").value(100))
+                .andExpect(jsonPath("$.points[0].averagePrice").value(110))
+                .andExpect(jsonPath("$.points[0].sampleCount").value(2));
+    }
+
+    @Test
+    void shouldReturnSegmentInEffect_WhenPriceAtTimeRequested() throws Exception {
+
+        UUID productId = UUID.randomUUID();
+        UUID userId = UUID.randomUUID();
+        Instant time = Instant.parse("2026-10-17T10:00:00Z");
+
+        PriceHistory segment = PriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(productId)
+                .price(BigDecimal.valueOf(95))
+                .inStock(true)
+                .detectedAt(Instant.parse("2026-10-16T08:00:00Z"))
+                .lastConfirmedAt(Instant.parse("2026-10-17T11:30:00Z"))
+                .build();
+
+        when(trackingUseCase.getPriceAt(productId, userId, time)).thenReturn(segment);
+
+        mockMvc.perform(get("/api/v1/trackings/{productId}/history/at", productId)
+                        .param("userId", userId.toString())
+                        .param("time", time.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(95))
+                .andExpect(jsonPath("$.inStock").value(true));
+    }
+
     @Test
     void shouldReturnScanCandidates_WhenRequested() throws Exception {
 
-        TrackedProduct mockProduct = TrackedProduct.builder()
+        Product mockProduct = Product.builder()
                 .id(UUID.randomUUID())
                 .url("https://test.com")
                 .productName("Test Product")
-                .targetPrice(BigDecimal.valueOf(100))
                 .isActive(true)
                 .build();
 
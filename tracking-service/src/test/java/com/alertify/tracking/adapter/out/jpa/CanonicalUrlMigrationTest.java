@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.tracking.adapter.out.jpa.entity.DataMigrationEntity;
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import com.alertify.tracking.adapter.out.jpa.repository.DataMigrationRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceHistoryRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceRollupRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ScrapeOutboxRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.TrackedProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CanonicalUrlMigrationTest {
+
+    private static final String LEGACY_URL = "https://m.trendyol.com/apple/iphone-15-p-123456?boutiqueId=61&merchantId=968";
+    private static final String CANONICAL_URL = "https://www.trendyol.com/apple/iphone-15-p-123456";
+
+    @InjectMocks
+    private CanonicalUrlMigration migration;
+
+    @Mock
+    private DataMigrationRepository dataMigrationRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private TrackedProductRepository trackedProductRepository;
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Mock
+    private PriceRollupRepository priceRollupRepository;
+
+    @Mock
+    private ScrapeOutboxRepository scrapeOutboxRepository;
+
+    private final UUID legacyId = UUID.randomUUID();
+
+    @Test
+    void should_Merge_Legacy_Row_Into_Its_Canonical_Twin() {
+
+        UUID survivorId = UUID.randomUUID();
+        stubLegacyRow();
+        when(productRepository.findByUrlHash(ProductEntity.hashUrl(CANONICAL_URL)))
+                .thenReturn(Optional.of(ProductEntity.builder().id(survivorId).url(CANONICAL_URL).build()));
+
+        migration.run(null);
+
+        InOrder inOrder = inOrder(trackedProductRepository, priceHistoryRepository, priceRollupRepository, scrapeOutboxRepository, productRepository);
+        inOrder.verify(trackedProductRepository).activateTrackingsActiveOn(legacyId, survivorId);
+        inOrder.verify(trackedProductRepository).deleteTrackingsDuplicatedOn(legacyId, survivorId);
+        inOrder.verify(trackedProductRepository).moveToProduct(legacyId, survivorId, CANONICAL_URL);
+        inOrder.verify(priceHistoryRepository).moveToProduct(legacyId, survivorId);
+        inOrder.verify(priceRollupRepository).deleteBucketsOverlapping(legacyId, survivorId);
+        inOrder.verify(priceRollupRepository).moveToProduct(legacyId, survivorId);
+        inOrder.verify(scrapeOutboxRepository).moveToProduct(legacyId, survivorId, CANONICAL_URL);
+        inOrder.verify(productRepository).deleteProduct(legacyId);
+        inOrder.verify(productRepository).refreshActivity(survivorId);
+        verify(productRepository, never()).updateUrl(any(), any(), any());
+        verifyMarkerSaved();
+    }
+
+    @Test
+    void should_Rewrite_Legacy_Row_Without_Canonical_Twin() {
+
+        stubLegacyRow();
+        when(productRepository.findByUrlHash(ProductEntity.hashUrl(CANONICAL_URL))).thenReturn(Optional.empty());
+
+        migration.run(null);
+
+        verify(productRepository).updateUrl(legacyId, CANONICAL_URL, ProductEntity.hashUrl(CANONICAL_URL));
+        verify(trackedProductRepository).moveToProduct(legacyId, legacyId, CANONICAL_URL);
+        verify(scrapeOutboxRepository).moveToProduct(legacyId, legacyId, CANONICAL_URL);
+        verify(productRepository, never()).deleteProduct(any());
+        verifyMarkerSaved();
+    }
+
+    @Test
+    void should_Leave_Canonical_Rows_Alone() {
+
+        when(dataMigrationRepository.existsById(CanonicalUrlMigration.NAME)).thenReturn(false);
+        when(productRepository.findUrlsAfter(any(), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{legacyId, CANONICAL_URL}));
+
+        migration.run(null);
+
+        verify(productRepository, never()).findByUrlHash(any());
+        verify(productRepository, never()).updateUrl(any(), any(), any());
+        verifyMarkerSaved();
+    }
+
+    @Test
+    void should_Run_Only_Once() {
+
+        when(dataMigrationRepository.existsById(CanonicalUrlMigration.NAME)).thenReturn(true);
+
+        migration.run(null);
+
+        verifyNoInteractions(productRepository, trackedProductRepository, priceHistoryRepository);
+        verify(dataMigrationRepository, never()).save(any());
+    }
+
+    private void stubLegacyRow() {
+
+        when(dataMigrationRepository.existsById(CanonicalUrlMigration.NAME)).thenReturn(false);
+        when(productRepository.findUrlsAfter(any(), any(Pageable.class)))
+                .thenReturn(List.<Object[]>of(new Object[]{legacyId, LEGACY_URL}));
+    }
+
+    private void verifyMarkerSaved() {
+
+        ArgumentCaptor<DataMigrationEntity> captor = ArgumentCaptor.forClass(DataMigrationEntity.class);
+        verify(dataMigrationRepository).save(captor.capture());
+        assertEquals(CanonicalUrlMigration.NAME, captor.getValue().getName());
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// boots Hibernate's ddl update and schema.sql on top of the original release's tables
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class LegacySchemaMigrationTest {
+
+    private static final String URL = "https://www.trendyol.com/apple/iphone-15-p-123456";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine")
+            .withInitScript("db/baseline-schema.sql");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_Fold_Baseline_Trackings_Into_One_Product() {
+
+        Map<String, Object> product = jdbcTemplate.queryForMap("SELECT * FROM products");
+        UUID productId = (UUID) product.get("id");
+        assertEquals(URL, product.get("url"));
+        assertEquals(jdbcTemplate.queryForObject("SELECT md5(?)::uuid", UUID.class, URL), product.get("url_hash"));
+        assertEquals(0, new BigDecimal("50000").compareTo((BigDecimal) product.get("current_price")));
+        assertEquals(true, product.get("is_active"));
+        assertNotNull(product.get("next_check_at"));
+        assertNull(product.get("dispatched_at"));
+
+        List<UUID> trackedProductIds = jdbcTemplate.queryForList("SELECT product_id FROM tracked_products", UUID.class);
+        assertEquals(List.of(productId, productId), trackedProductIds);
+
+        List<String> legacyColumns = jdbcTemplate.queryForList("""
+                SELECT column_name FROM information_schema.columns
+                WHERE table_name = 'tracked_products'
+                  AND column_name IN ('product_name', 'current_price', 'in_stock', 'currency', 'last_checked_at',
+                                      'next_check_at', 'dispatched_at')
+                """, String.class);
+        assertTrue(legacyColumns.isEmpty());
+    }
+
+    @Test
+    void should_Move_History_Onto_The_Product_As_Change_Points() {
+
+        UUID productId = jdbcTemplate.queryForObject("SELECT id FROM products", UUID.class);
+
+        List<Map<String, Object>> history = jdbcTemplate.queryForList(
+                "SELECT product_id, price, detected_at, last_confirmed_at FROM price_history ORDER BY detected_at");
+        assertEquals(2, history.size());
+        history.forEach(row -> assertEquals(productId, row.get("product_id")));
+
+        // the two 50000 observations of the first tracking collapse into one segment confirmed by the second
+        assertEquals(0, new BigDecimal("50000").compareTo((BigDecimal) history.getFirst().get("price")));
+        assertEquals(Timestamp.from(Instant.parse("2025-01-02T10:00:00Z")), history.getFirst().get("last_confirmed_at"));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.tracking.adapter.out.jpa.mapper.PriceRollupMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceRollupRepository;
+import com.alertify.tracking.domain.model.PriceResolution;
+import com.alertify.tracking.domain.model.PriceRollup;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class PriceRollupAdapterTest {
+
+    @InjectMocks
+    private PriceRollupAdapter priceRollupAdapter;
+
+    @Mock
+    private PriceRollupRepository priceRollupRepository;
+
+    @Mock
+    private PriceRollupMapper priceRollupMapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_Upsert_All_Buckets_In_One_Batch() {
+
+        Instant checkedAt = Instant.parse("2026-01-01T10:15:00Z");
+        UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+        List<PriceRollup> rollups = List.of(
+                PriceRollup.observe(second, PriceResolution.HOUR, new BigDecimal("200"), checkedAt),
+                PriceRollup.observe(first, PriceResolution.DAY, new BigDecimal("100"), checkedAt),
+                PriceRollup.observe(first, PriceResolution.HOUR, new BigDecimal("100"), checkedAt)
+        );
+
+        priceRollupAdapter.accumulate(rollups);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), rows.capture());
+        verifyNoInteractions(priceRollupRepository);
+
+        assertTrue(sql.getValue().contains("ON CONFLICT (product_id, resolution, bucket_start) DO UPDATE"));
+        assertEquals(3, rows.getValue().size());
+
+        // ordered by bucket key, so concurrent batches lock overlapping rows in the same order
+        Object[] row = rows.getValue().getFirst();
+        assertEquals(first, row[0]);
+        assertEquals(PriceResolution.HOUR.name(), row[1]);
+        assertEquals(Timestamp.from(Instant.parse("2026-01-01T10:00:00Z")), row[2]);
+        assertEquals(new BigDecimal("100"), row[7]);
+        assertEquals(1L, row[8]);
+        assertEquals(Timestamp.from(checkedAt), row[9]);
+        assertEquals(second, rows.getValue().get(2)[0]);
+    }
+}
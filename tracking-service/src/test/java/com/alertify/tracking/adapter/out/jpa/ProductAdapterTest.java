@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.common.exception.ResourceAlreadyExistsException;
+import com.alertify.tracking.adapter.out.jpa.entity.ProductEntity;
+import com.alertify.tracking.adapter.out.jpa.mapper.PriceHistoryMapper;
+import com.alertify.tracking.adapter.out.jpa.mapper.ProductMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.PriceHistoryRepository;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
+import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductAdapterTest {
+
+    @InjectMocks
+    private ProductAdapter productAdapter;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Spy
+    private ProductMapper productMapper;
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepository;
+
+    @Mock
+    private PriceHistoryMapper priceHistoryMapper;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void should_Hash_Url_Like_Postgres_Md5_Uuid() {
+
+        // SELECT md5('hello')::uuid, which is what schema.sql backfills legacy rows with
+        assertEquals(
+                UUID.fromString("5d41402a-bc4b-2a76-b971-9d911017c592"),
+                ProductEntity.hashUrl("hello")
+        );
+    }
+
+    @Test
+    void should_Find_Product_By_Url_Hash() {
+
+        String url = "https://www.trendyol.com/apple/iphone-15-p-123456";
+        ProductEntity entity = ProductEntity.builder()
+                .id(UUID.randomUUID())
+                .url(url)
+                .urlHash(ProductEntity.hashUrl(url))
+                .build();
+        when(productRepository.findByUrlHash(ProductEntity.hashUrl(url))).thenReturn(Optional.of(entity));
+
+        Optional<Product> result = productAdapter.findByUrl(url);
+
+        assertTrue(result.isPresent());
+        assertEquals(entity.getId(), result.get().getId());
+    }
+
+    @Test
+    void should_Reject_Url_When_Stored_Product_Has_Same_Hash_But_Other_Url() {
+
+        String url = "https://www.trendyol.com/apple/iphone-15-p-123456";
+        ProductEntity collided = ProductEntity.builder()
+                .id(UUID.randomUUID())
+                .url("https://www.n11.com/urun/other-1")
+                .build();
+        when(productRepository.findByUrlHash(ProductEntity.hashUrl(url))).thenReturn(Optional.of(collided));
+
+        assertThrows(ResourceAlreadyExistsException.class, () -> productAdapter.findByUrl(url));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_Batch_Check_State_Updates_Without_Touching_Activity() {
+
+        Instant checkedAt = Instant.parse("2026-01-01T10:00:00Z");
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .productName("PlayStation 5")
+                .currentPrice(new BigDecimal("20000"))
+                .inStock(true)
+                .currency("TRY")
+                .isActive(false)
+                .lastCheckedAt(checkedAt)
+                .nextCheckAt(checkedAt.plusSeconds(3600))
+                .build();
+        PriceHistory confirmed = PriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(product.getId())
+                .lastConfirmedAt(checkedAt)
+                .build();
+
+        productAdapter.recordPriceChecks(List.of(product), List.of(confirmed));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(sql.capture(), rows.capture());
+
+        String updateSql = sql.getAllValues().getFirst();
+        assertTrue(updateSql.startsWith("UPDATE products"));
+        assertFalse(updateSql.contains("is_active"));
+        assertFalse(updateSql.contains("dispatched_at"));
+        Object[] row = rows.getAllValues().getFirst().getFirst();
+        assertEquals(Timestamp.from(checkedAt), row[4]);
+        assertEquals(product.getId(), row[7]);
+
+        assertTrue(sql.getAllValues().get(1).startsWith("UPDATE price_history"));
+        assertEquals(confirmed.getId(), rows.getAllValues().get(1).getFirst()[1]);
+        verify(productRepository, never()).getReferenceById(product.getId());
+    }
+
+    @Test
+    void should_Record_Single_Check_Through_Targeted_Update() throws NoSuchMethodException {
+
+        Instant checkedAt = Instant.parse("2026-01-01T10:00:00Z");
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .productName("PlayStation 5")
+                .currentPrice(new BigDecimal("20000"))
+                .inStock(true)
+                .currency("TRY")
+                .isActive(false)
+                .lastCheckedAt(checkedAt)
+                .nextCheckAt(checkedAt.plusSeconds(3600))
+                .build();
+        PriceHistory confirmed = PriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(product.getId())
+                .lastConfirmedAt(checkedAt)
+                .build();
+
+        productAdapter.recordPriceCheck(product, confirmed);
+
+        verify(productRepository).updateCheckState(
+                eq(product.getId()),
+                eq("PlayStation 5"),
+                eq(new BigDecimal("20000")),
+                eq(true),
+                eq("TRY"),
+                eq(checkedAt),
+                eq(checkedAt.plusSeconds(3600)),
+                any(Instant.class)
+        );
+        verify(priceHistoryRepository).confirmSegment(confirmed.getId(), checkedAt);
+        verify(productRepository, never()).save(any());
+        verify(productRepository, never()).getReferenceById(any());
+
+        // the update itself must leave the columns owned by tracking toggles and dispatch claims alone
+        String jpql = ProductRepository.class.getMethod(
+                "updateCheckState",
+                UUID.class, String.class, BigDecimal.class, Boolean.class, String.class, Instant.class, Instant.class, Instant.class
+        ).getAnnotation(Query.class).value();
+        assertFalse(jpql.contains("isActive"));
+        assertFalse(jpql.contains("dispatchedAt"));
+    }
+}
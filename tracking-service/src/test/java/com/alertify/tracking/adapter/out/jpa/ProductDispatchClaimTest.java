@@ -0,0 +1,182 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.adapter.out.jpa;
+
+import com.alertify.tracking.adapter.out.jpa.mapper.PriceHistoryMapper;
+import com.alertify.tracking.adapter.out.jpa.mapper.ProductMapper;
+import com.alertify.tracking.adapter.out.jpa.repository.ProductRepository;
+import com.alertify.tracking.domain.model.Product;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.postgresql.PostgreSQLContainer;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the claim relies on postgres row locks, so it runs against a real database in real, separate transactions
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=update",
+        "spring.jpa.defer-datasource-initialization=true",
+        "spring.sql.init.mode=always",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.alertify.tracking.adapter.out.jpa.ProductDispatchClaimTest$RecordingInspector"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ProductAdapter.class, ProductMapper.class, PriceHistoryMapper.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Testcontainers(disabledWithoutDocker = true)
+class ProductDispatchClaimTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer postgres = new PostgreSQLContainer("postgres:16-alpine");
+
+    @Autowired
+    private ProductAdapter productAdapter;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        jdbcTemplate.update("DELETE FROM products");
+
+        Instant due = Instant.now().minus(Duration.ofMinutes(5));
+        for (int i = 0; i < 4; i++) {
+            String url = "https://www.trendyol.com/x/product-p-" + i;
+            jdbcTemplate.update(
+                    "INSERT INTO products (id, url, url_hash, is_active, created_at, next_check_at) VALUES (?, ?, ?, true, ?, ?)",
+                    UUID.randomUUID(), url, UUID.randomUUID(), Timestamp.from(due), Timestamp.from(due.plusSeconds(i))
+            );
+        }
+        RecordingInspector.STATEMENTS.clear();
+    }
+
+    @Test
+    void should_Claim_With_For_Update_Skip_Locked() {
+
+        transactionTemplate.execute(status -> productAdapter.claimProductsToScan(LEASE, PageRequest.of(0, 2)));
+
+        String claimSql = RecordingInspector.STATEMENTS.stream()
+                .filter(sql -> sql.toLowerCase().contains("from products"))
+                .findFirst()
+                .orElseThrow();
+        // postgres gets FOR NO KEY UPDATE, which blocks the same writers without holding off inserts that reference the row
+        assertTrue(claimSql.toLowerCase().matches("(?s).* for (no key )?update( of \\S+)? skip locked.*"), claimSql);
+    }
+
+    @Test
+    void should_Give_Concurrent_Claims_Disjoint_Rows() throws Exception {
+
+        CountDownLatch firstClaimed = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        // the first claim keeps its transaction, and so its row locks, open until the second claim is done
+        CompletableFuture<List<Product>> first = CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status -> {
+            List<Product> claimed = productAdapter.claimProductsToScan(LEASE, PageRequest.of(0, 2));
+            firstClaimed.countDown();
+            try {
+                releaseFirst.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return claimed;
+        }));
+
+        assertTrue(firstClaimed.await(10, TimeUnit.SECONDS));
+        List<Product> second = transactionTemplate.execute(status -> productAdapter.claimProductsToScan(LEASE, PageRequest.of(0, 4)));
+        releaseFirst.countDown();
+
+        Set<UUID> firstIds = ids(first.get(10, TimeUnit.SECONDS));
+        Set<UUID> secondIds = ids(second);
+        assertEquals(2, firstIds.size());
+        assertEquals(2, secondIds.size());
+        assertTrue(Collections.disjoint(firstIds, secondIds));
+    }
+
+    @Test
+    void should_Take_Claimed_Rows_Out_Of_The_Due_Set() {
+
+        List<Product> claimed = transactionTemplate.execute(status -> productAdapter.claimProductsToScan(LEASE, PageRequest.of(0, 3)));
+
+        Instant now = Instant.now();
+        assertEquals(1, productRepository.countDueForDispatch(now));
+        List<Product> next = transactionTemplate.execute(status -> productAdapter.claimProductsToScan(LEASE, PageRequest.of(0, 4)));
+        assertEquals(1, next.size());
+        assertFalse(ids(claimed).contains(next.getFirst().getId()));
+
+        Timestamp dispatchedAt = jdbcTemplate.queryForObject(
+                "SELECT dispatched_at FROM products WHERE id = ?", Timestamp.class, claimed.getFirst().getId());
+        assertNotNull(dispatchedAt);
+    }
+
+    private static Set<UUID> ids(
+            List<Product> products
+    ) {
+        return new HashSet<>(products.stream().map(Product::getId).toList());
+    }
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(
+                String sql
+        ) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -17,6 +17,7 @@
 package com.alertify.tracking.adapter.out.messaging;
 
 import com.alertify.common.event.ScrapeRequestEvent;
+import com.alertify.tracking.domain.model.Product;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -25,15 +26,18 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitOperations;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
-import static org.mockito.Mockito.doThrow;
-import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class ScrapeMessageProducerTest {
@@ -54,6 +58,7 @@ class ScrapeMessageProducerTest {
 
         ReflectionTestUtils.setField(producer, "exchange", EXCHANGE);
         ReflectionTestUtils.setField(producer, "routingKey", ROUTING_KEY);
+        ReflectionTestUtils.setField(producer, "confirmTimeoutMs", 100L);
     }
 
     @Test
@@ -65,7 +70,7 @@ class ScrapeMessageProducerTest {
 
         verify(rabbitTemplate).convertAndSend(
                 eq(EXCHANGE),
-                eq(ROUTING_KEY),
+                eq(ROUTING_KEY + ".trendyol"),
                 eventCaptor.capture()
         );
 
@@ -74,6 +79,16 @@ class ScrapeMessageProducerTest {
         assertEquals(url, sentEvent.getUrl());
     }
 
+    @Test
+    void should_Route_By_Retailer_And_Fall_Back_To_Base_Key() {
+
+        producer.sendScrapeRequest(productId, "https://www.amazon.com.tr/dp/B0CHX1W1XY");
+        producer.sendScrapeRequest(productId, "https://unknown-shop.com/urun");
+
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY + ".amazon"), any(ScrapeRequestEvent.class));
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY), any(ScrapeRequestEvent.class));
+    }
+
     @Test
     void should_Wrap_AmqpException_In_RuntimeException() {
 
@@ -95,4 +110,53 @@ class ScrapeMessageProducerTest {
         );
         assertEquals("Unexpected messaging error", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void should_Publish_Batch_And_Report_Nacked_Requests() {
+
+        Product acked = Product.builder().id(UUID.randomUUID()).url(url).build();
+        Product nacked = Product.builder().id(UUID.randomUUID()).url("https://www.n11.com/urun").build();
+        mockBatchChannel();
+
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            boolean ack = !correlation.getId().equals(nacked.getId().toString());
+            correlation.getFuture().complete(new CorrelationData.Confirm(ack, ack ? null : "queue full"));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        List<UUID> failed = producer.sendScrapeRequests(List.of(acked, nacked));
+
+        assertEquals(List.of(nacked.getId()), failed);
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY + ".trendyol"), any(Object.class), any(CorrelationData.class));
+        verify(rabbitTemplate).convertAndSend(eq(EXCHANGE), eq(ROUTING_KEY + ".n11"), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void should_Report_Unconfirmed_Requests_As_Failed() {
+
+        Product product = Product.builder().id(productId).url(url).build();
+        mockBatchChannel();
+
+        List<UUID> failed = producer.sendScrapeRequests(List.of(product));
+
+        assertEquals(List.of(productId), failed);
+    }
+
+    @Test
+    void should_Skip_Broker_For_Empty_Batch() {
+
+        assertTrue(producer.sendScrapeRequests(List.of()).isEmpty());
+        verifyNoInteractions(rabbitTemplate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void mockBatchChannel() {
+
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        when(connectionFactory.isPublisherConfirms()).thenReturn(true);
+        when(rabbitTemplate.getConnectionFactory()).thenReturn(connectionFactory);
+        when(rabbitTemplate.invoke(any())).thenAnswer(invocation ->
+                ((RabbitOperations.OperationsCallback<Object>) invocation.getArgument(0)).doInRabbit(rabbitTemplate));
+    }
+}
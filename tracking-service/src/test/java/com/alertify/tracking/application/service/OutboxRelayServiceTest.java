@@ -0,0 +1,79 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.service;
+
+import com.alertify.tracking.application.port.out.ScrapeOutboxPort;
+import com.alertify.tracking.application.port.out.ScrapePort;
+import com.alertify.tracking.domain.model.OutboxMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayServiceTest {
+
+    @InjectMocks
+    private OutboxRelayService relayService;
+
+    @Mock
+    private ScrapeOutboxPort scrapeOutboxPort;
+
+    @Mock
+    private ScrapePort scrapePort;
+
+    @Test
+    void should_Do_Nothing_When_Outbox_Is_Empty() {
+
+        when(scrapeOutboxPort.claimPending(100)).thenReturn(List.of());
+
+        assertEquals(0, relayService.relayScrapeRequests(100));
+        verifyNoInteractions(scrapePort);
+        verify(scrapeOutboxPort, never()).delete(any());
+    }
+
+    @Test
+    void should_Delete_Only_Confirmed_Messages() {
+
+        OutboxMessage confirmed = message();
+        OutboxMessage rejected = message();
+
+        when(scrapeOutboxPort.claimPending(100)).thenReturn(List.of(confirmed, rejected));
+        when(scrapePort.sendScrapeRequests(any())).thenReturn(List.of(rejected.getProductId()));
+
+        int relayed = relayService.relayScrapeRequests(100);
+
+        assertEquals(1, relayed);
+        verify(scrapeOutboxPort).delete(List.of(confirmed.getId()));
+    }
+
+    private OutboxMessage message() {
+        return OutboxMessage.builder()
+                .id(UUID.randomUUID())
+                .productId(UUID.randomUUID())
+                .url("https://www.trendyol.com/urun-p-" + UUID.randomUUID())
+                .build();
+    }
+}
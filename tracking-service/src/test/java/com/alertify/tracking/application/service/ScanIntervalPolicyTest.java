@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.service;
+
+import com.alertify.tracking.domain.model.PriceHistory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScanIntervalPolicyTest {
+
+    private static final Instant NOW = Instant.parse("2026-10-17T12:00:00Z");
+
+    private final ScanIntervalPolicy policy = new ScanIntervalPolicy();
+
+    @BeforeEach
+    void setUp() {
+
+        ReflectionTestUtils.setField(policy, "baseMinutes", 60L);
+        ReflectionTestUtils.setField(policy, "enabled", true);
+        ReflectionTestUtils.setField(policy, "minMinutes", 10L);
+        ReflectionTestUtils.setField(policy, "maxMinutes", 720L);
+        ReflectionTestUtils.setField(policy, "nearTargetRatio", new BigDecimal("0.10"));
+        ReflectionTestUtils.setField(policy, "historyWindow", 10);
+    }
+
+    @Test
+    void should_Use_Base_Interval_Without_History() {
+
+        assertEquals(Duration.ofMinutes(60), policy.nextInterval(new BigDecimal("100"), null, false, NOW, List.of()));
+    }
+
+    @Test
+    void should_Back_Off_While_Price_Is_Stable() {
+
+        assertEquals(Duration.ofMinutes(240), policy.nextInterval(new BigDecimal("100"), null, false, NOW, segments(120, "100")));
+        assertEquals(Duration.ofMinutes(720), policy.nextInterval(new BigDecimal("100"), null, false, NOW, segments(300, "100")));
+    }
+
+    @Test
+    void should_Tighten_When_Price_Is_Volatile() {
+
+        assertEquals(Duration.ofMinutes(15), policy.nextInterval(new BigDecimal("100"), null, false, NOW, segments(60, "110", "100", "95")));
+        assertEquals(Duration.ofMinutes(10), policy.nextInterval(new BigDecimal("100"), null, false, NOW, segments(60, "110", "100", "95", "90", "85", "80")));
+    }
+
+    @Test
+    void should_Ignore_Changes_Before_Lookback_Window() {
+
+        List<PriceHistory> history = new ArrayList<>(segments(60, "100"));
+        history.add(segment("90", 900));
+        history.add(segment("80", 1000));
+
+        assertEquals(Duration.ofMinutes(60), policy.nextInterval(new BigDecimal("100"), null, false, NOW, history));
+    }
+
+    @Test
+    void should_Tighten_Near_Target_Price() {
+
+        assertEquals(Duration.ofMinutes(30), policy.nextInterval(new BigDecimal("105"), new BigDecimal("100"), false, NOW, List.of()));
+        assertEquals(Duration.ofMinutes(60), policy.nextInterval(new BigDecimal("150"), new BigDecimal("100"), false, NOW, List.of()));
+    }
+
+    @Test
+    void should_Use_Minimum_When_Stock_Flips() {
+
+        assertEquals(Duration.ofMinutes(10), policy.nextInterval(new BigDecimal("100"), null, true, NOW, segments(300, "100")));
+    }
+
+    @Test
+    void should_Use_Base_Interval_When_Disabled() {
+
+        ReflectionTestUtils.setField(policy, "enabled", false);
+
+        assertEquals(Duration.ofMinutes(60), policy.nextInterval(new BigDecimal("100"), null, true, NOW, segments(60, "90")));
+    }
+
+    // newest first, each segment starting a further step minutes earlier
+    private List<PriceHistory> segments(
+            long stepMinutes,
+            String... prices
+    ) {
+
+        List<PriceHistory> history = new ArrayList<>();
+        for (int i = 0; i < prices.length; i++) {
+            history.add(segment(prices[i], stepMinutes * (i + 1)));
+        }
+        return history;
+    }
+
+    private PriceHistory segment(
+            String price,
+            long minutesAgo
+    ) {
+        return PriceHistory.builder()
+                .price(new BigDecimal(price))
+                .detectedAt(NOW.minus(Duration.ofMinutes(minutesAgo)))
+                .build();
+    }
+}
@@ -0,0 +1,362 @@
+/*
+ * Copyright 2026 efsitax
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.alertify.tracking.application.service;
+
+import com.alertify.common.exception.InvalidRequestException;
+import com.alertify.tracking.application.port.out.DispatchSchedulePort;
+import com.alertify.tracking.application.port.out.PriceRollupPort;
+import com.alertify.tracking.application.port.out.ProductPort;
+import com.alertify.tracking.application.port.out.ScrapeOutboxPort;
+import com.alertify.tracking.application.port.out.TrackingPort;
+import com.alertify.tracking.domain.model.PriceChart;
+import com.alertify.tracking.domain.model.PriceHistory;
+import com.alertify.tracking.domain.model.PriceResolution;
+import com.alertify.tracking.domain.model.PriceRollup;
+import com.alertify.tracking.domain.model.Product;
+import com.alertify.tracking.domain.model.ScrapeResult;
+import com.alertify.tracking.domain.model.TrackedProduct;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TrackingServiceTest {
+
+    @InjectMocks
+    private TrackingService trackingService;
+
+    @Mock
+    private TrackingPort trackingPort;
+
+    @Mock
+    private ProductPort productPort;
+
+    @Mock
+    private ScrapeOutboxPort scrapeOutboxPort;
+
+    @Mock
+    private DispatchSchedulePort dispatchSchedulePort;
+
+    @Mock
+    private ScanIntervalPolicy scanIntervalPolicy;
+
+    @Mock
+    private PriceRollupPort priceRollupPort;
+
+    private final UUID userId = UUID.randomUUID();
+    private final String url = "https://www.trendyol.com/laptop-p-123";
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(trackingService, "dispatchLeaseMinutes", 10L);
+        ReflectionTestUtils.setField(trackingService, "rawHistoryMaxHours", 48L);
+        ReflectionTestUtils.setField(trackingService, "hourlyHistoryMaxDays", 14L);
+    }
+
+    @Test
+    void should_Create_Product_And_Queue_First_Scrape_For_New_Url() {
+
+        UUID productId = UUID.randomUUID();
+        when(productPort.findByUrl(url)).thenReturn(Optional.empty());
+        when(productPort.save(any(Product.class))).thenAnswer(invocation -> {
+            Product product = invocation.getArgument(0);
+            product.setId(productId);
+            return product;
+        });
+        when(trackingPort.findByUserIdAndProductId(userId, productId)).thenReturn(Optional.empty());
+        when(trackingPort.save(any(TrackedProduct.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        TrackedProduct tracking = trackingService.createTrackedProduct(userId, url, new BigDecimal("100"));
+
+        assertEquals(productId, tracking.getProductId());
+        verify(scrapeOutboxPort).enqueue(productId, url);
+        verify(dispatchSchedulePort).schedule(eq(productId), eq(url), any(Instant.class));
+    }
+
+    @Test
+    void should_Reuse_Product_Tracked_By_Another_User() {
+
+        Product product = Product.builder()
+                .id(UUID.randomUUID())
+                .url(url)
+                .isActive(true)
+                .nextCheckAt(Instant.now())
+                .build();
+        when(productPort.findByUrl(url)).thenReturn(Optional.of(product));
+        when(trackingPort.findByUserIdAndProductId(userId, product.getId())).thenReturn(Optional.empty());
+        when(trackingPort.save(any(TrackedProduct.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        trackingService.createTrackedProduct(userId, url, new BigDecimal("100"));
+
+        verify(productPort, never()).save(any());
+        verify(scrapeOutboxPort, never()).enqueue(any(), anyString());
+    }
+
+    @Test
+    void should_Deactivate_Product_When_Last_Tracking_Is_Deleted() {
+
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).isActive(true).build();
+        TrackedProduct tracking = TrackedProduct.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .productId(product.getId())
+                .isActive(true)
+                .build();
+        when(trackingPort.findById(tracking.getId())).thenReturn(Optional.of(tracking));
+        when(productPort.findById(product.getId())).thenReturn(Optional.of(product));
+        when(trackingPort.hasActiveTrackings(product.getId())).thenReturn(false);
+
+        trackingService.deleteTrackedProduct(tracking.getId(), userId);
+
+        verify(productPort).updateActivity(product.getId(), false);
+        verify(productPort, never()).save(any());
+        verify(dispatchSchedulePort).cancel(product.getId());
+    }
+
+    @Test
+    void should_Only_Flip_The_Flag_When_Tracking_Is_Reactivated() {
+
+        Instant nextCheckAt = Instant.parse("2026-10-17T12:00:00Z");
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).isActive(false).nextCheckAt(nextCheckAt).build();
+        TrackedProduct tracking = TrackedProduct.builder()
+                .id(UUID.randomUUID())
+                .userId(userId)
+                .productId(product.getId())
+                .isActive(false)
+                .build();
+        when(trackingPort.findById(tracking.getId())).thenReturn(Optional.of(tracking));
+        when(trackingPort.save(tracking)).thenReturn(tracking);
+        when(productPort.findById(product.getId())).thenReturn(Optional.of(product));
+        when(trackingPort.hasActiveTrackings(product.getId())).thenReturn(true);
+
+        trackingService.updateTrackedProduct(userId, tracking.getId(), new BigDecimal("100"), true);
+
+        // no full-row save, so a concurrent claim's next_check_at and dispatched_at are not overwritten
+        verify(productPort).updateActivity(product.getId(), true);
+        verify(productPort, never()).save(any());
+        verify(dispatchSchedulePort).schedule(product.getId(), url, nextCheckAt);
+    }
+
+    @Test
+    void should_Only_Confirm_Current_Segment_When_Price_And_Stock_Are_Unchanged() {
+
+        Instant checkedAt = Instant.parse("2026-10-17T12:00:00Z");
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).currentPrice(new BigDecimal("100")).inStock(true).isActive(true).build();
+        PriceHistory segment = PriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(product.getId())
+                .price(new BigDecimal("100.00"))
+                .inStock(true)
+                .detectedAt(checkedAt.minus(Duration.ofHours(5)))
+                .lastConfirmedAt(checkedAt.minus(Duration.ofHours(1)))
+                .build();
+        stubResultLookups(product, segment);
+
+        trackingService.handleScrapeResult(product.getId(), "Laptop", new BigDecimal("100"), true, "TRY", checkedAt);
+
+        ArgumentCaptor<PriceHistory> captor = ArgumentCaptor.forClass(PriceHistory.class);
+        verify(productPort).recordPriceCheck(eq(product), captor.capture());
+        assertSame(segment, captor.getValue());
+        assertEquals(checkedAt, segment.getLastConfirmedAt());
+    }
+
+    @Test
+    void should_Open_New_Segment_When_Stock_Changes() {
+
+        Instant checkedAt = Instant.parse("2026-10-17T12:00:00Z");
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).currentPrice(new BigDecimal("100")).inStock(true).isActive(true).build();
+        PriceHistory segment = PriceHistory.builder()
+                .id(UUID.randomUUID())
+                .productId(product.getId())
+                .price(new BigDecimal("100"))
+                .inStock(true)
+                .detectedAt(checkedAt.minus(Duration.ofHours(5)))
+                .lastConfirmedAt(checkedAt.minus(Duration.ofHours(1)))
+                .build();
+        stubResultLookups(product, segment);
+
+        trackingService.handleScrapeResult(product.getId(), "Laptop", new BigDecimal("100"), false, "TRY", checkedAt);
+
+        ArgumentCaptor<PriceHistory> captor = ArgumentCaptor.forClass(PriceHistory.class);
+        verify(productPort).recordPriceCheck(eq(product), captor.capture());
+        assertNull(captor.getValue().getId());
+        assertFalse(captor.getValue().getInStock());
+        assertEquals(checkedAt, captor.getValue().getDetectedAt());
+        assertEquals(checkedAt.minus(Duration.ofHours(1)), segment.getLastConfirmedAt());
+    }
+
+    @Test
+    void should_Cancel_Schedule_For_Unknown_Products() {
+
+        UUID single = UUID.randomUUID();
+        UUID batched = UUID.randomUUID();
+        when(productPort.findById(single)).thenReturn(Optional.empty());
+        when(scanIntervalPolicy.getHistoryWindow()).thenReturn(10);
+        when(productPort.findAllByIds(any())).thenReturn(List.of());
+        when(productPort.findRecentPriceHistory(any(), anyInt())).thenReturn(new HashMap<>());
+        when(trackingPort.findHighestActiveTargetPrices(any())).thenReturn(Map.of());
+
+        assertFalse(trackingService.handleScrapeResult(single, "Laptop", new BigDecimal("100"), true, "TRY", Instant.now()));
+        assertEquals(0, trackingService.handleScrapeResults(List.of(
+                new ScrapeResult(batched, "Laptop", new BigDecimal("100"), true, "TRY", Instant.now())
+        )));
+
+        verify(dispatchSchedulePort).cancel(single);
+        verify(dispatchSchedulePort).cancel(batched);
+        verify(dispatchSchedulePort, never()).schedule(any(), any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_Merge_Batch_Results_Into_One_Rollup_Per_Bucket() {
+
+        Instant checkedAt = Instant.parse("2026-10-17T12:10:00Z");
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).isActive(true).build();
+        when(scanIntervalPolicy.getHistoryWindow()).thenReturn(10);
+        when(productPort.findAllByIds(any())).thenReturn(List.of(product));
+        when(productPort.findRecentPriceHistory(any(), anyInt())).thenReturn(new HashMap<>());
+        when(trackingPort.findHighestActiveTargetPrices(any())).thenReturn(Map.of());
+        when(scanIntervalPolicy.nextInterval(any(), any(), anyBoolean(), any(), any())).thenReturn(Duration.ofMinutes(60));
+
+        trackingService.handleScrapeResults(List.of(
+                new ScrapeResult(product.getId(), "Laptop", new BigDecimal("100"), true, "TRY", checkedAt),
+                new ScrapeResult(product.getId(), "Laptop", new BigDecimal("80"), true, "TRY", checkedAt.plus(Duration.ofMinutes(20)))
+        ));
+
+        ArgumentCaptor<Collection<PriceRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(priceRollupPort).accumulate(captor.capture());
+        List<PriceRollup> rollups = new ArrayList<>(captor.getValue());
+        assertEquals(2, rollups.size());
+
+        PriceRollup hourly = rollups.getFirst();
+        assertEquals(PriceResolution.HOUR, hourly.getResolution());
+        assertEquals(Instant.parse("2026-10-17T12:00:00Z"), hourly.getBucketStart());
+        assertEquals(2, hourly.getSampleCount());
+        assertEquals(new BigDecimal("100"), hourly.getOpenPrice());
+        assertEquals(new BigDecimal("80"), hourly.getClosePrice());
+        assertEquals(new BigDecimal("80"), hourly.getMinPrice());
+        assertEquals(new BigDecimal("90.00"), hourly.getAveragePrice());
+        assertEquals(Instant.parse("2026-10-17T00:00:00Z"), rollups.get(1).getBucketStart());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void should_Leave_Sold_Out_Results_Out_Of_Rollups() {
+
+        Instant checkedAt = Instant.parse("2026-10-17T12:10:00Z");
+        Product product = Product.builder().id(UUID.randomUUID()).url(url).isActive(true).build();
+        when(scanIntervalPolicy.getHistoryWindow()).thenReturn(10);
+        when(productPort.findAllByIds(any())).thenReturn(List.of(product));
+        when(productPort.findRecentPriceHistory(any(), anyInt())).thenReturn(new HashMap<>());
+        when(trackingPort.findHighestActiveTargetPrices(any())).thenReturn(Map.of());
+        when(scanIntervalPolicy.nextInterval(any(), any(), anyBoolean(), any(), any())).thenReturn(Duration.ofMinutes(60));
+
+        trackingService.handleScrapeResults(List.of(
+                new ScrapeResult(product.getId(), "Laptop", new BigDecimal("100"), true, "TRY", checkedAt),
+                new ScrapeResult(product.getId(), "Laptop", BigDecimal.ZERO, false, "TRY", checkedAt.plus(Duration.ofMinutes(10))),
+                new ScrapeResult(product.getId(), "Laptop", new BigDecimal("90"), false, "TRY", checkedAt.plus(Duration.ofMinutes(20))),
+                new ScrapeResult(product.getId(), "Laptop", BigDecimal.ZERO, true, "TRY", checkedAt.plus(Duration.ofMinutes(30)))
+        ));
+
+        ArgumentCaptor<Collection<PriceRollup>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(priceRollupPort).accumulate(captor.capture());
+        PriceRollup hourly = captor.getValue().iterator().next();
+        assertEquals(1, hourly.getSampleCount());
+        assertEquals(new BigDecimal("100"), hourly.getMinPrice());
+        assertEquals(new BigDecimal("100"), hourly.getClosePrice());
+    }
+
+    @Test
+    void should_Read_Daily_Rollups_For_Long_Ranges() {
+
+        TrackedProduct tracking = TrackedProduct.builder().id(UUID.randomUUID()).userId(userId).productId(UUID.randomUUID()).build();
+        when(trackingPort.findById(tracking.getId())).thenReturn(Optional.of(tracking));
+        Instant from = Instant.parse("2026-08-01T15:30:00Z");
+        Instant to = Instant.parse("2026-10-01T00:00:00Z");
+
+        PriceChart chart = trackingService.getPriceChart(tracking.getId(), userId, from, to);
+
+        assertEquals(PriceResolution.DAY, chart.resolution());
+        verify(priceRollupPort).findRollups(tracking.getProductId(), PriceResolution.DAY, Instant.parse("2026-08-01T00:00:00Z"), to);
+        verify(productPort, never()).findPriceHistoryBetween(any(), any(), any());
+    }
+
+    @Test
+    void should_Read_Raw_Segments_For_Short_Ranges() {
+
+        TrackedProduct tracking = TrackedProduct.builder().id(UUID.randomUUID()).userId(userId).productId(UUID.randomUUID()).build();
+        when(trackingPort.findById(tracking.getId())).thenReturn(Optional.of(tracking));
+        Instant from = Instant.parse("2026-10-16T00:00:00Z");
+        Instant to = Instant.parse("2026-10-17T00:00:00Z");
+        PriceHistory leading = PriceHistory.builder().price(new BigDecimal("100")).detectedAt(from.minus(Duration.ofDays(3))).build();
+        PriceHistory inRange = PriceHistory.builder().price(new BigDecimal("90")).detectedAt(from.plus(Duration.ofHours(6))).build();
+        when(productPort.findPriceHistoryAt(tracking.getProductId(), from)).thenReturn(Optional.of(leading));
+        when(productPort.findPriceHistoryBetween(tracking.getProductId(), from, to)).thenReturn(List.of(inRange));
+
+        PriceChart chart = trackingService.getPriceChart(tracking.getId(), userId, from, to);
+
+        assertEquals(PriceResolution.RAW, chart.resolution());
+        assertEquals(List.of(leading, inRange), chart.segments());
+        verifyNoInteractions(priceRollupPort);
+    }
+
+    @Test
+    void should_Reject_Empty_History_Range() {
+
+        Instant at = Instant.parse("2026-10-17T00:00:00Z");
+
+        assertThrows(InvalidRequestException.class, () -> trackingService.getPriceChart(UUID.randomUUID(), userId, at, at));
+    }
+
+    private void stubResultLookups(
+            Product product,
+            PriceHistory segment
+    ) {
+
+        when(scanIntervalPolicy.getHistoryWindow()).thenReturn(10);
+        when(productPort.findById(product.getId())).thenReturn(Optional.of(product));
+        when(trackingPort.findHighestActiveTargetPrices(List.of(product.getId()))).thenReturn(Map.of());
+        when(productPort.findPriceHistoryByProductId(eq(product.getId()), any(Pageable.class))).thenReturn(List.of(segment));
+        when(scanIntervalPolicy.nextInterval(any(), any(), anyBoolean(), any(), any())).thenReturn(Duration.ofMinutes(60));
+    }
+}
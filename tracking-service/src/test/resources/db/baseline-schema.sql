@@ -0,0 +1,37 @@
+-- The tracking tables as the original release created them: scrape state per tracking, history keyed by tracking.
+CREATE TABLE tracked_products (
+    id              uuid PRIMARY KEY,
+    user_id         uuid          NOT NULL,
+    url             varchar(2048) NOT NULL,
+    product_name    varchar(255),
+    current_price   numeric(38, 2),
+    in_stock        boolean,
+    currency        varchar(3),
+    target_price    numeric(38, 2),
+    is_active       boolean,
+    created_at      timestamp(6) with time zone,
+    updated_at      timestamp(6) with time zone,
+    last_checked_at timestamp(6) with time zone,
+    CONSTRAINT uc_tracked_product_userid_url UNIQUE (user_id, url)
+);
+
+CREATE TABLE price_history (
+    id          uuid PRIMARY KEY,
+    product_id  uuid                        NOT NULL REFERENCES tracked_products (id),
+    price       numeric(38, 2)              NOT NULL,
+    detected_at timestamp(6) with time zone NOT NULL
+);
+
+INSERT INTO tracked_products (id, user_id, url, product_name, current_price, in_stock, currency, target_price,
+                              is_active, created_at, updated_at, last_checked_at)
+VALUES ('00000000-0000-0000-0000-0000000000a1', '00000000-0000-0000-0000-000000000001',
+        'https://www.trendyol.com/apple/iphone-15-p-123456', 'iPhone 15', 50000.00, true, 'TRY', 45000.00,
+        true, '2025-01-01 10:00:00+00', '2025-01-03 10:00:00+00', '2025-01-03 10:00:00+00'),
+       ('00000000-0000-0000-0000-0000000000a2', '00000000-0000-0000-0000-000000000002',
+        'https://www.trendyol.com/apple/iphone-15-p-123456', 'iPhone 15', 49000.00, true, 'TRY', 40000.00,
+        false, '2025-01-02 10:00:00+00', '2025-01-02 12:00:00+00', '2025-01-02 12:00:00+00');
+
+INSERT INTO price_history (id, product_id, price, detected_at)
+VALUES ('00000000-0000-0000-0000-0000000000b1', '00000000-0000-0000-0000-0000000000a1', 50000.00, '2025-01-01 10:00:00+00'),
+       ('00000000-0000-0000-0000-0000000000b2', '00000000-0000-0000-0000-0000000000a1', 50000.00, '2025-01-02 10:00:00+00'),
+       ('00000000-0000-0000-0000-0000000000b3', '00000000-0000-0000-0000-0000000000a2', 49000.00, '2025-01-02 12:00:00+00');